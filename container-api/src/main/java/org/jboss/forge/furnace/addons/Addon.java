@@ -8,6 +8,7 @@ package org.jboss.forge.furnace.addons;
 
 import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.forge.furnace.event.EventManager;
 import org.jboss.forge.furnace.repositories.AddonRepository;
@@ -63,4 +64,26 @@ public interface Addon
     * {@link AddonStatus#isFailed()}
     */
    public Future<Void> getFuture();
+
+   /**
+    * Returns a counter that changes whenever the {@link AddonStatus} of this {@link Addon} may have changed. Used with
+    * {@link #awaitStatusChange(long, long, TimeUnit)} to wait for status changes without polling.
+    */
+   public default long getStatusVersion()
+   {
+      return 0;
+   }
+
+   /**
+    * Wait until {@link #getStatusVersion()} differs from the given version, or the given timeout expires. A negative
+    * timeout waits indefinitely. May return early, so callers must check {@link #getStatus()} again.
+    * 
+    * @return <code>false</code> if the timeout expired, otherwise <code>true</code>
+    */
+   public default boolean awaitStatusChange(long version, long timeout, TimeUnit unit) throws InterruptedException
+   {
+      long millis = timeout < 0 ? 10 : Math.min(10, unit.toMillis(timeout));
+      Thread.sleep(millis);
+      return timeout < 0 || unit.toMillis(timeout) > 10;
+   }
 }
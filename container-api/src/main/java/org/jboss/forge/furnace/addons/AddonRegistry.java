@@ -7,11 +7,13 @@
 package org.jboss.forge.furnace.addons;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.jboss.forge.furnace.event.EventManager;
 import org.jboss.forge.furnace.event.PostStartup;
 import org.jboss.forge.furnace.event.PreShutdown;
 import org.jboss.forge.furnace.services.Imported;
+import org.jboss.forge.furnace.util.Addons;
 
 /**
  * Provides methods for registering, starting, stopping, and interacting with registered {@link Addon} instances.
@@ -20,6 +22,22 @@ import org.jboss.forge.furnace.services.Imported;
  */
 public interface AddonRegistry extends AddonView
 {
+   /**
+    * Get the registered {@link Addon} for the given {@link AddonId}, as with {@link #getAddon(AddonId)}, once it has
+    * started. The returned {@link CompletableFuture} completes exceptionally if the {@link Addon} fails to start, and
+    * never completes if it is not enabled in this {@link AddonRegistry}; callers should wait with a timeout.
+    * 
+    * @return the {@link CompletableFuture} of the started {@link Addon} (Never null.)
+    */
+   default CompletableFuture<Addon> whenStarted(AddonId id)
+   {
+      Addon addon = getAddon(id);
+      return CompletableFuture.supplyAsync(() -> {
+         Addons.waitUntilStarted(addon);
+         return addon;
+      });
+   }
+
    /**
     * Return an {@link Imported} instance that can be used to obtain all currently available services of the given
     * {@link Class} type.
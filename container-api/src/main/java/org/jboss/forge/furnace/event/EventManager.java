@@ -7,6 +7,7 @@
 package org.jboss.forge.furnace.event;
 
 import java.lang.annotation.Annotation;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Responsible for handling event propagation.
@@ -21,4 +22,23 @@ public interface EventManager
     * @throws EventException if exceptions are encountered during event processing.
     */
    public void fireEvent(Object event, Annotation... qualifiers) throws EventException;
+
+   /**
+    * Fire an event without waiting for observers to be notified. The returned {@link CompletableFuture} completes once
+    * all observers have been notified, or exceptionally if any of them failed.
+    */
+   default CompletableFuture<Void> fireEventAsync(Object event, Annotation... qualifiers)
+   {
+      return CompletableFuture.runAsync(() -> fireEvent(event, qualifiers));
+   }
+
+   /**
+    * Return <code>false</code> if no observer within the enclosing addon can be notified of events of the given type, so
+    * that such events need not be delivered to this {@link EventManager}. Implementations that cannot tell must return
+    * <code>true</code>. The result must not change while the enclosing addon is started.
+    */
+   default boolean isObserved(Class<?> eventType)
+   {
+      return true;
+   }
 }
@@ -7,6 +7,7 @@
 package org.jboss.forge.furnace.repositories;
 
 import java.io.File;
+import java.util.Collection;
 
 import org.jboss.forge.furnace.addons.Addon;
 import org.jboss.forge.furnace.addons.AddonId;
@@ -26,5 +27,19 @@ public interface MutableAddonRepository extends AddonRepository
 
    public boolean enable(AddonId addon);
 
+   /**
+    * Enable all of the given {@link AddonId} instances at once. Implementations that support it record them in a single
+    * transaction, so that the container reloads only once for the whole batch.
+    */
+   public default boolean enableAll(Collection<AddonId> addons)
+   {
+      boolean result = true;
+      for (AddonId addon : addons)
+      {
+         result &= enable(addon);
+      }
+      return result;
+   }
+
    public boolean undeploy(AddonId addonEntry);
 }
@@ -10,6 +10,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.jboss.forge.furnace.addons.Addon;
+import org.jboss.forge.furnace.addons.AddonStatus;
 import org.jboss.forge.furnace.exception.ContainerException;
 
 /**
@@ -22,10 +23,7 @@ public class Addons
    {
       try
       {
-         while (!addon.getStatus().isStarted())
-         {
-            Thread.sleep(10);
-         }
+         await(addon, AddonStatus::isStarted, -1, TimeUnit.MILLISECONDS);
       }
       catch (Exception e)
       {
@@ -39,10 +37,7 @@ public class Addons
       {
          try
          {
-            while (addon.getStatus().isStarted())
-            {
-               Thread.sleep(10);
-            }
+            await(addon, status -> !status.isStarted(), -1, TimeUnit.MILLISECONDS);
          }
          catch (Exception e)
          {
@@ -53,27 +48,9 @@ public class Addons
 
    public static void waitUntilStarted(Addon addon, int quantity, TimeUnit unit) throws TimeoutException
    {
-      long start = System.currentTimeMillis();
-      long threshold = start + TimeUnit.MILLISECONDS.convert(quantity, unit);
-      while (!addon.getStatus().isStarted())
+      if (!await(addon, AddonStatus::isStarted, quantity, unit, "started"))
       {
-         if (System.currentTimeMillis() > threshold)
-         {
-            throw new TimeoutException("Timeout expired waiting for [" + addon + "] to start.");
-         }
-
-         try
-         {
-            Thread.sleep(10);
-         }
-         catch (RuntimeException re)
-         {
-            throw re;
-         }
-         catch (Exception e)
-         {
-            throw new ContainerException("Addon [" + addon + "] was not started.", e);
-         }
+         throw new TimeoutException("Timeout expired waiting for [" + addon + "] to start.");
       }
    }
 
@@ -81,27 +58,9 @@ public class Addons
    {
       if (addon != null)
       {
-         long start = System.currentTimeMillis();
-         long threshold = start + TimeUnit.MILLISECONDS.convert(quantity, unit);
-         while (addon.getStatus().isStarted())
+         if (!await(addon, status -> !status.isStarted(), quantity, unit, "stopped"))
          {
-            if (System.currentTimeMillis() > threshold)
-            {
-               throw new TimeoutException("Timeout expired waiting for [" + addon + "] to stop.");
-            }
-
-            try
-            {
-               Thread.sleep(10);
-            }
-            catch (RuntimeException re)
-            {
-               throw re;
-            }
-            catch (Exception e)
-            {
-               throw new ContainerException("Addon [" + addon + "] was not stopped.", e);
-            }
+            throw new TimeoutException("Timeout expired waiting for [" + addon + "] to stop.");
          }
       }
    }
@@ -113,28 +72,53 @@ public class Addons
    {
       if (addon != null)
       {
-         long start = System.currentTimeMillis();
-         long threshold = start + TimeUnit.MILLISECONDS.convert(quantity, unit);
-         while (!addon.getStatus().isStarted() && !addon.getStatus().isMissing())
+         if (!await(addon, status -> status.isStarted() || status.isMissing(), quantity, unit, "loaded"))
          {
-            if (System.currentTimeMillis() > threshold)
-            {
-               throw new TimeoutException("Timeout expired waiting for [" + addon + "] to load.");
-            }
+            throw new TimeoutException("Timeout expired waiting for [" + addon + "] to load.");
+         }
+      }
+   }
 
-            try
-            {
-               Thread.sleep(10);
-            }
-            catch (RuntimeException re)
-            {
-               throw re;
-            }
-            catch (Exception e)
-            {
-               throw new ContainerException("Addon [" + addon + "] was not loaded.", e);
-            }
+   /**
+    * Wait for the {@link AddonStatus} of the given {@link Addon} to be accepted by the given {@link Predicate}, without
+    * polling if the {@link Addon} supports it. Returns <code>false</code> if the timeout expired.
+    */
+   private static boolean await(Addon addon, Predicate<AddonStatus> condition, int quantity, TimeUnit unit,
+            String state)
+   {
+      try
+      {
+         return await(addon, condition, Math.max(0, quantity), unit);
+      }
+      catch (RuntimeException re)
+      {
+         throw re;
+      }
+      catch (Exception e)
+      {
+         throw new ContainerException("Addon [" + addon + "] was not " + state + ".", e);
+      }
+   }
+
+   private static boolean await(Addon addon, Predicate<AddonStatus> condition, long timeout, TimeUnit unit)
+            throws InterruptedException
+   {
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      while (true)
+      {
+         // read the version first, so that a change made while the status is evaluated is not missed
+         long version = addon.getStatusVersion();
+         if (condition.accept(addon.getStatus()))
+            return true;
+
+         long remaining = -1;
+         if (timeout >= 0)
+         {
+            remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+               return false;
          }
+         addon.awaitStatusChange(version, remaining, TimeUnit.NANOSECONDS);
       }
    }
 
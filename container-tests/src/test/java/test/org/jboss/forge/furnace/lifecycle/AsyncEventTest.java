@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package test.org.jboss.forge.furnace.lifecycle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.forge.arquillian.services.LocalServices;
+import org.jboss.forge.furnace.Furnace;
+import org.jboss.forge.furnace.addons.AddonRegistry;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class AsyncEventTest
+{
+   @Deployment(order = 1)
+   public static AddonArchive getDeployment()
+   {
+      AddonArchive archive = ShrinkWrap.create(AddonArchive.class)
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("dep1")
+               );
+
+      archive.addAsLocalServices(AsyncEventTest.class);
+
+      return archive;
+   }
+
+   @Deployment(name = "dep1,1", testable = false, order = 0)
+   public static AddonArchive getDeployment1()
+   {
+      AddonArchive archive = ShrinkWrap.create(AddonArchive.class)
+               .addClass(RecordingEventManager.class)
+               .addAsLocalServices(RecordingEventManager.class);
+      return archive;
+   }
+
+   @Test
+   public void testEventsAreDeliveredAsynchronouslyInOrder() throws Exception
+   {
+      Furnace furnace = LocalServices.getFurnace(getClass().getClassLoader());
+      AddonRegistry registry = furnace.getAddonRegistry();
+      RecordingEventManager manager = registry.getServices(RecordingEventManager.class).get();
+
+      registry.getEventManager().fireEventAsync("first");
+      registry.getEventManager().fireEventAsync("second").get(5, TimeUnit.SECONDS);
+
+      int first = manager.getEvents().indexOf("first");
+      int second = manager.getEvents().indexOf("second");
+      Assert.assertTrue(first >= 0);
+      Assert.assertTrue(second > first);
+   }
+}
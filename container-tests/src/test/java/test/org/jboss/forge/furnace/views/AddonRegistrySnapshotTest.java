@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package test.org.jboss.forge.furnace.views;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.forge.furnace.addons.Addon;
+import org.jboss.forge.furnace.addons.AddonId;
+import org.jboss.forge.furnace.impl.FurnaceImpl;
+import org.jboss.forge.furnace.impl.addons.AddonLifecycleManager;
+import org.jboss.forge.furnace.impl.addons.AddonRegistryImpl;
+import org.jboss.forge.furnace.impl.util.Files;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.forge.furnace.repositories.AddonRepositoryMode;
+import org.jboss.forge.furnace.repositories.MutableAddonRepository;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies that {@link AddonRegistryImpl#getAddons()}, which reads published snapshots without a lock, only ever
+ * observes a complete view while {@link AddonLifecycleManager#forceUpdate()} runs concurrently.
+ */
+public class AddonRegistrySnapshotTest
+{
+   private File repodir;
+
+   @Before
+   public void init() throws IOException
+   {
+      repodir = java.nio.file.Files.createTempDirectory("furnace-snapshot").toFile();
+   }
+
+   @After
+   public void teardown()
+   {
+      Files.delete(repodir, true);
+   }
+
+   @Test
+   public void testGetAddonsIsConsistentDuringForceUpdate() throws Exception
+   {
+      FurnaceImpl furnace = new FurnaceImpl();
+      MutableAddonRepository repository = (MutableAddonRepository) furnace.addRepository(
+               AddonRepositoryMode.MUTABLE, repodir);
+
+      Set<AddonId> base = new LinkedHashSet<>();
+      for (int i = 0; i < 5; i++)
+      {
+         base.add(deploy(repository, AddonId.from("test:snapshot_" + i, "1.0.0.Final")));
+      }
+      repository.enableAll(base);
+      AddonId extra = deploy(repository, AddonId.from("test:snapshot_extra", "1.0.0.Final"));
+
+      Set<AddonId> withExtra = new HashSet<>(base);
+      withExtra.add(extra);
+
+      AddonLifecycleManager manager = new AddonLifecycleManager(furnace);
+      AddonRegistryImpl registry = new AddonRegistryImpl(furnace.getLockManager(), manager,
+               furnace.getRepositories(), "snapshot");
+      manager.addView(registry);
+
+      AtomicBoolean done = new AtomicBoolean();
+      AtomicReference<String> failure = new AtomicReference<>();
+      List<Thread> readers = new ArrayList<>();
+      CountDownLatch started = new CountDownLatch(2);
+      try
+      {
+         Assert.assertEquals(Collections.emptySet(), registry.getAddons());
+         Assert.assertEquals(0, registry.getVersion());
+
+         for (int i = 0; i < 2; i++)
+         {
+            Thread reader = new Thread(() -> {
+               started.countDown();
+               List<Set<AddonId>> states = Arrays.asList(Collections.<AddonId> emptySet(), base, withExtra);
+               int last = 0;
+               while (!done.get() && failure.get() == null)
+               {
+                  Set<AddonId> ids = idsOf(registry.getAddons());
+                  int state = states.indexOf(ids);
+                  if (state < last)
+                     failure.compareAndSet(null, "Observed " + (state == -1 ? "partial" : "stale") + " view " + ids);
+                  last = Math.max(last, state);
+               }
+            });
+            reader.start();
+            readers.add(reader);
+         }
+         Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+         for (int i = 0; i < 20 && failure.get() == null; i++)
+         {
+            if (i == 10)
+               repository.enable(extra);
+            manager.invalidateAll();
+            manager.forceUpdate();
+            Assert.assertEquals(i < 10 ? base : withExtra, idsOf(registry.getAddons()));
+         }
+      }
+      finally
+      {
+         done.set(true);
+         for (Thread reader : readers)
+         {
+            reader.join(TimeUnit.SECONDS.toMillis(10));
+         }
+         manager.dispose();
+      }
+      Assert.assertNull(failure.get(), failure.get());
+   }
+
+   private static AddonId deploy(MutableAddonRepository repository, AddonId id)
+   {
+      repository.deploy(id, Collections.<AddonDependencyEntry> emptyList(), Collections.<File> emptyList());
+      return id;
+   }
+
+   private static Set<AddonId> idsOf(Set<Addon> addons)
+   {
+      Set<AddonId> result = new HashSet<>();
+      for (Addon addon : addons)
+      {
+         result.add(addon.getId());
+      }
+      return result;
+   }
+}
@@ -10,11 +10,13 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.jboss.forge.arquillian.ConfigurationScanListener;
 import org.jboss.forge.furnace.Furnace;
+import org.jboss.forge.furnace.addons.Addon;
 import org.jboss.forge.furnace.addons.AddonId;
 import org.jboss.forge.furnace.impl.util.Files;
 import org.jboss.forge.furnace.manager.AddonManager;
@@ -102,7 +104,7 @@ public class MultipleRepositoryTest
 
    @Test
    public void testAddonsCanReferenceDependenciesInOtherRepositories() throws IOException, InterruptedException,
-            TimeoutException
+            TimeoutException, ExecutionException
    {
       Furnace furnace = FurnaceFactory.getInstance();
       AddonRepository left = furnace.addRepository(AddonRepositoryMode.MUTABLE, repodir1);
@@ -143,6 +145,10 @@ public class MultipleRepositoryTest
 
       Addons.waitUntilStarted(furnace.getAddonRegistry().getAddon(one_dep_a), 10, TimeUnit.SECONDS);
 
+      Addon oneDep = furnace.getAddonRegistry().whenStarted(one_dep).get(10, TimeUnit.SECONDS);
+      Assert.assertEquals(one_dep, oneDep.getId());
+      Assert.assertTrue(oneDep.getStatus().isStarted());
+
       registration.removeListener();
 
       furnace.stop();
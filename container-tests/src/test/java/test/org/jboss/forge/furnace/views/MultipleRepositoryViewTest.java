@@ -159,6 +159,7 @@ public class MultipleRepositoryViewTest
       Addon leftNoDep = leftRegistry.getAddon(no_dep);
       Addon rightNoDep = rightRegistry.getAddon(no_dep);
       Addon rootNoDep = registry.getAddon(no_dep);
+      Addons.waitUntilStarted(leftNoDep, 10, TimeUnit.SECONDS);
       Assert.assertTrue(leftNoDep.getStatus().isStarted());
       Assert.assertFalse(rightNoDep.getStatus().isStarted()); // not deployed to this repository
       Assert.assertFalse(rootNoDep.getStatus().isStarted()); // there is a newer version
@@ -173,6 +174,7 @@ public class MultipleRepositoryViewTest
       Addon leftOneDep = leftRegistry.getAddon(one_dep);
       Addon rightOneDep = rightRegistry.getAddon(one_dep);
       Addon rootOneDep = registry.getAddon(one_dep);
+      Addons.waitUntilStarted(leftOneDep, 10, TimeUnit.SECONDS);
       Assert.assertTrue(leftOneDep.getStatus().isStarted());
       Assert.assertFalse(rightOneDep.getStatus().isStarted()); // not deployed to this repository
       Assert.assertTrue(rootOneDep.getStatus().isStarted());
@@ -10,15 +10,17 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -62,6 +64,9 @@ public class FurnaceImpl implements Furnace
    public static final String FURNACE_DEBUG_PROPERTY = "furnace.debug";
    public static final String TEST_MODE_PROPERTY = "furnace.test.mode";
 
+   private static final long POLLING_INTERVAL_MILLIS = 100;
+   private static final long RELOAD_QUIET_PERIOD_MILLIS = 10;
+
    private static Logger logger = Logger.getLogger(FurnaceImpl.class.getName());
 
    private volatile boolean alive = false;
@@ -71,12 +76,16 @@ public class FurnaceImpl implements Furnace
 
    private boolean serverMode = true;
    private AddonLifecycleManager manager;
-   private final List<ContainerLifecycleListener> registeredListeners = new ArrayList<>();
+   private final List<ContainerLifecycleListener> registeredListeners = new CopyOnWriteArrayList<>();
    private final List<ListenerRegistration<ContainerLifecycleListener>> loadedListenerRegistrations = new ArrayList<>();
 
    private ClassLoader loader;
 
-   private final Set<RepositoryEntry> repositories = new HashSet<>();
+   private final Set<RepositoryEntry> repositories = new CopyOnWriteArraySet<>();
+   private final AtomicInteger pollingRepositories = new AtomicInteger();
+
+   private final Object changeSignal = new Object();
+   private boolean changesSignalled = true;
 
    private final LockManager lock = new LockManagerImpl();
 
@@ -223,43 +232,58 @@ public class FurnaceImpl implements Furnace
       try
       {
          getAddonRegistry();
+         for (RepositoryEntry entry : repositories)
+         {
+            listenForChanges(entry);
+         }
+         signalChanges();
          do
          {
-            lock.performLocked(LockMode.WRITE, new Callable<Void>()
+            awaitChanges();
+
+            if (!getLifecycleManager().isStartingAddons() && isAnyRepositoryDirty())
             {
-               @Override
-               public Void call() throws Exception
+               lock.performLocked(LockMode.WRITE, new Callable<Void>()
                {
-                  boolean dirty = false;
-                  if (!getLifecycleManager().isStartingAddons())
+                  @Override
+                  public Void call() throws Exception
                   {
+                     boolean dirty = false;
                      for (RepositoryEntry entry : repositories)
                      {
                         DirtyChecker dirtyChecker = entry.getDirtyChecker();
                         if (dirtyChecker.isDirty())
                         {
                            logger.log(Level.FINE, "Detected changes in repository [" + entry.getRepository() + "].");
+                           dirtyChecker.resetDirtyStatus();
+                           getLifecycleManager().invalidate(entry.getRepository());
                            dirty = true;
                         }
-                        dirtyChecker.resetDirtyStatus();
                      }
 
                      if (dirty)
                      {
                         reloadConfiguration();
                      }
+                     return null;
                   }
+               });
+            }
 
-                  status = ContainerStatus.STARTED;
-                  if (!firedAfterStart)
+            if (!firedAfterStart)
+            {
+               lock.performLocked(LockMode.WRITE, new Callable<Void>()
+               {
+                  @Override
+                  public Void call() throws Exception
                   {
+                     status = ContainerStatus.STARTED;
                      fireAfterContainerStartedEvent();
                      firedAfterStart = true;
+                     return null;
                   }
-                  return null;
-               }
-            });
-            Thread.sleep(100);
+               });
+            }
          }
          while (isAlive() && serverMode);
 
@@ -287,6 +311,7 @@ public class FurnaceImpl implements Furnace
    public Furnace stop()
    {
       alive = false;
+      signalChanges();
       return this;
    }
 
@@ -429,6 +454,7 @@ public class FurnaceImpl implements Furnace
       {
          if (entry.equals(newEntry))
          {
+            closeQuietly(dirtyChecker);
             return entry.getRepository();
          }
       }
@@ -451,6 +477,11 @@ public class FurnaceImpl implements Furnace
          }
       });
 
+      if (isAlive())
+      {
+         listenForChanges(newEntry);
+         signalChanges();
+      }
       return repository;
    }
 
@@ -518,6 +549,7 @@ public class FurnaceImpl implements Furnace
             public Void call() throws Exception
             {
                FurnaceImpl.this.addonCompatibilityStrategy = strategy;
+               getLifecycleManager().invalidateAll();
                reloadConfiguration();
                return null;
             }
@@ -550,6 +582,81 @@ public class FurnaceImpl implements Furnace
       return alive;
    }
 
+   private void listenForChanges(RepositoryEntry entry)
+   {
+      if (!entry.getDirtyChecker().setChangeListener(this::signalChanges))
+      {
+         pollingRepositories.incrementAndGet();
+      }
+   }
+
+   /**
+    * Wake the container loop so that it re-checks the {@link DirtyChecker} of each registered repository.
+    */
+   private void signalChanges()
+   {
+      synchronized (changeSignal)
+      {
+         changesSignalled = true;
+         changeSignal.notifyAll();
+      }
+   }
+
+   /**
+    * Block until a repository change or {@link #stop()} is signalled, then wait for the burst of changes to settle so
+    * that it results in a single {@link #reloadConfiguration()}. Repositories whose {@link DirtyChecker} cannot notify
+    * of changes, and changes deferred while addons are starting, are re-checked every
+    * {@value #POLLING_INTERVAL_MILLIS}ms.
+    */
+   private void awaitChanges() throws InterruptedException
+   {
+      synchronized (changeSignal)
+      {
+         while (!changesSignalled && isAlive())
+         {
+            if (pollingRepositories.get() > 0 || getLifecycleManager().isStartingAddons())
+            {
+               changeSignal.wait(POLLING_INTERVAL_MILLIS);
+               break;
+            }
+            changeSignal.wait();
+         }
+
+         if (changesSignalled && isAlive())
+         {
+            do
+            {
+               changesSignalled = false;
+               changeSignal.wait(RELOAD_QUIET_PERIOD_MILLIS);
+            }
+            while (changesSignalled && isAlive());
+         }
+         changesSignalled = false;
+      }
+   }
+
+   private boolean isAnyRepositoryDirty()
+   {
+      for (RepositoryEntry entry : repositories)
+      {
+         if (entry.getDirtyChecker().isDirty())
+            return true;
+      }
+      return false;
+   }
+
+   private void closeQuietly(DirtyChecker dirtyChecker)
+   {
+      try
+      {
+         dirtyChecker.close();
+      }
+      catch (Exception e)
+      {
+         logger.log(Level.SEVERE, "Error occurred.", e);
+      }
+   }
+
    private void reloadConfiguration()
    {
       if (status.isStarted())
@@ -582,16 +689,10 @@ public class FurnaceImpl implements Furnace
       manager = null;
       for (RepositoryEntry entry : repositories)
       {
-         try
-         {
-            entry.getDirtyChecker().close();
-         }
-         catch (Exception e)
-         {
-            logger.log(Level.SEVERE, "Error occurred.", e);
-         }
+         closeQuietly(entry.getDirtyChecker());
       }
       repositories.clear();
+      pollingRepositories.set(0);
       executor.shutdownNow();
       firedAfterStart = false;
    }
@@ -6,6 +6,7 @@
  */
 package org.jboss.forge.furnace.impl.addons;
 
+import org.jboss.forge.furnace.impl.lock.LockManagerImpl;
 import org.jboss.forge.furnace.lock.LockManager;
 import org.jboss.forge.furnace.lock.LockMode;
 import org.jboss.forge.furnace.util.Assert;
@@ -30,10 +31,20 @@ public abstract class AbstractFileSystemAddonRepository
     {
         Assert.notNull(lock, "LockManager must not be null.");
         Assert.notNull(addonDir, "Addon directory must not be null.");
-        this.lock = lock;
+        this.lock = getRepositoryLockManager(lock, addonDir);
         this.addonDir = addonDir;
     }
 
+    /**
+     * Repositories are guarded by their own lock, so that changing one does not block the rest of the container.
+     */
+    private static LockManager getRepositoryLockManager(LockManager lock, File addonDir)
+    {
+        if (lock instanceof LockManagerImpl)
+            return ((LockManagerImpl) lock).getLockManager("repository:" + addonDir.getAbsolutePath());
+        return lock;
+    }
+
     protected File getRootDirectory()
     {
         if (!addonDir.exists() || !addonDir.isDirectory())
@@ -8,14 +8,14 @@ package org.jboss.forge.furnace.impl.addons;
 
 import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.jboss.forge.furnace.addons.Addon;
 import org.jboss.forge.furnace.addons.AddonDependency;
 import org.jboss.forge.furnace.addons.AddonId;
 import org.jboss.forge.furnace.addons.AddonStatus;
 import org.jboss.forge.furnace.event.EventManager;
-import org.jboss.forge.furnace.impl.util.ExceptionFuture;
-import org.jboss.forge.furnace.impl.util.NullFuture;
 import org.jboss.forge.furnace.repositories.AddonRepository;
 import org.jboss.forge.furnace.spi.ServiceRegistry;
 import org.jboss.forge.furnace.util.Assert;
@@ -25,9 +25,17 @@ import org.jboss.forge.furnace.util.Assert;
  */
 public class AddonImpl implements Addon
 {
+   private static final AtomicReferenceFieldUpdater<AddonImpl, AddonState> STATE = AtomicReferenceFieldUpdater
+            .newUpdater(AddonImpl.class, AddonState.class, "state");
+
    private final AddonId id;
    private AddonStateManager manager;
 
+   /*
+    * Published by the AddonStateManager whenever the state of this addon changes, so that reads need no lock.
+    */
+   private volatile AddonState state = new AddonState();
+
    public AddonImpl(AddonStateManager manager, AddonId id)
    {
       Assert.notNull(manager, "Manager must not be null.");
@@ -47,62 +55,78 @@ public class AddonImpl implements Addon
    @Override
    public Set<AddonDependency> getDependencies()
    {
-      return manager.getDependenciesOf(this);
+      return state.getDependencies();
    }
 
    @Override
    public ClassLoader getClassLoader()
    {
-      return manager.getClassLoaderOf(this);
+      return state.getClassLoader();
    }
 
    @Override
    public EventManager getEventManager()
    {
-      return manager.getEventManagerOf(this);
+      return state.getEventManager();
    }
 
    @Override
    public Future<Void> getFuture()
    {
-      return manager.getFutureOf(this);
+      return state.getFuture();
    }
 
    @Override
    public AddonRepository getRepository()
    {
-      return manager.getRepositoryOf(this);
+      return state.getRepository();
    }
 
    @Override
    public ServiceRegistry getServiceRegistry()
    {
-      return manager.getServiceRegistryOf(this);
+      return state.getServiceRegistry();
    }
 
    @Override
    public AddonStatus getStatus()
    {
-      AddonStatus result = AddonStatus.NEW;
-      if (getClassLoader() != null)
-         result = AddonStatus.LOADED;
+      return state.getStatus();
+   }
 
-      if (manager.getMissingDependenciesOf(this).size() > 0)
-         result = AddonStatus.MISSING;
+   /**
+    * Publish the given {@link AddonState}. Only called by the {@link AddonStateManager} while holding the WRITE lock.
+    */
+   void setState(AddonState state)
+   {
+      this.state = state;
+      refreshStatus();
+   }
 
-      if (getFuture() != null)
+   /**
+    * Recompute the {@link AddonStatus} of this {@link Addon}, for instance once its {@link Future} has completed.
+    */
+   void refreshStatus()
+   {
+      while (true)
       {
-         if (!(getFuture() instanceof NullFuture))
-         {
-            if (getFuture().isDone())
-               result = AddonStatus.STARTED;
-
-            if (getFuture() instanceof ExceptionFuture || getFuture().isCancelled())
-               result = AddonStatus.FAILED;
-         }
+         AddonState current = state;
+         AddonState refreshed = current.refresh();
+         if (refreshed == current || STATE.compareAndSet(this, current, refreshed))
+            return;
       }
+   }
 
-      return result;
+   @Override
+   public long getStatusVersion()
+   {
+      return manager.getStatusVersion(this);
+   }
+
+   @Override
+   public boolean awaitStatusChange(long version, long timeout, TimeUnit unit) throws InterruptedException
+   {
+      return manager.awaitStatusChange(this, version, timeout, unit);
    }
 
    @Override
@@ -6,17 +6,20 @@
  */
 package org.jboss.forge.furnace.impl.addons;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -28,6 +31,7 @@ import org.jboss.forge.furnace.addons.AddonView;
 import org.jboss.forge.furnace.event.EventManager;
 import org.jboss.forge.furnace.impl.FurnaceImpl;
 import org.jboss.forge.furnace.impl.event.AddonViewEventManager;
+import org.jboss.forge.furnace.impl.event.EventDispatchExecutor;
 import org.jboss.forge.furnace.impl.graph.CompleteAddonGraph;
 import org.jboss.forge.furnace.impl.graph.MasterGraph;
 import org.jboss.forge.furnace.impl.graph.MasterGraphChangeHandler;
@@ -56,11 +60,23 @@ public class AddonLifecycleManager
 
    private final Map<AddonView, Set<Addon>> addonViews = new ConcurrentHashMap<>();
    private final Map<AddonView, Long> views = new ConcurrentHashMap<AddonView, Long>();
+   private final Map<AddonView, AddonViewSnapshot> snapshots = new ConcurrentHashMap<>();
+   private final Map<AddonView, ViewGraph> viewGraphs = new ConcurrentHashMap<>();
+   private final Map<AddonView, AddonObserverIndex> observerIndexes = new ConcurrentHashMap<>();
+   private final Map<AddonView, AddonViewEventManager> eventManagers = new ConcurrentHashMap<>();
+   private final EventDispatchExecutor eventExecutor = new EventDispatchExecutor();
+   private final AtomicLong generation = new AtomicLong();
    private final AtomicInteger starting = new AtomicInteger(-1);
-   private final ExecutorService executor = Executors.newCachedThreadPool();
+   private final AddonStartupExecutor executor;
 
    private final AddonModuleLoader moduleLoader;
 
+   /*
+    * The depth of forceUpdate() passes in progress; snapshots are only published once they complete. Only accessed
+    * while holding the WRITE lock.
+    */
+   private int updating;
+
    public AddonLifecycleManager(FurnaceImpl furnace)
    {
       Assert.notNull(furnace, "Furnace instance must not be null.");
@@ -68,6 +84,7 @@ public class AddonLifecycleManager
       this.furnace = furnace;
       this.lock = furnace.getLockManager();
       this.stateManager = new AddonStateManager(lock);
+      this.executor = new AddonStartupExecutor(stateManager);
       this.moduleLoader = new AddonModuleLoader(furnace, this, stateManager);
       this.stateManager.setModuleLoader(moduleLoader);
       this.loader = new AddonLoader(furnace, this, stateManager, moduleLoader);
@@ -80,6 +97,11 @@ public class AddonLifecycleManager
          view.dispose();
       }
       this.views.clear();
+      this.snapshots.clear();
+      this.viewGraphs.clear();
+      this.observerIndexes.clear();
+      this.eventManagers.clear();
+      this.eventExecutor.shutdown();
       this.stateManager.dispose();
       this.loader.dispose();
       this.moduleLoader.dispose();
@@ -100,6 +122,15 @@ public class AddonLifecycleManager
       return getAddon(views.iterator().next(), id);
    }
 
+   /**
+    * Return a {@link CompletableFuture} that completes with the {@link Addon} with the given {@link AddonId} in the
+    * given {@link AddonView} once it has started.
+    */
+   public CompletableFuture<Addon> getStartup(AddonView view, AddonId id)
+   {
+      return stateManager.getStartupOf(getAddon(view, id));
+   }
+
    public Set<Addon> getOrphanAddons(final AddonId id)
    {
       return lock.performLocked(LockMode.READ, new Callable<Set<Addon>>()
@@ -124,12 +155,19 @@ public class AddonLifecycleManager
    }
 
    /**
-    * Requires a {@link LockMode#WRITE} lock.
+    * Return the {@link Addon} with the given {@link AddonId} in the given {@link AddonView}, registering a new
+    * {@link Addon} if there is none. Reads the last published {@link AddonViewSnapshot} without obtaining a lock, and
+    * only obtains a {@link LockMode#WRITE} lock to register an {@link Addon} that is not yet in the {@link AddonView}.
     */
    public Addon getAddon(final AddonView view, final AddonId id)
    {
       Assert.notNull(view, "AddonView must not be null.");
       Assert.notNull(id, "AddonId must not be null.");
+
+      Addon published = getSnapshot(view).getAddon(id);
+      if (published != null)
+         return published;
+
       return lock.performLocked(LockMode.WRITE, new Callable<Addon>()
       {
          @Override
@@ -137,7 +175,7 @@ public class AddonLifecycleManager
          {
             Addon result = null;
 
-            for (Addon addon : getAddons(view))
+            for (Addon addon : _getAddonsForView(view))
             {
                if (id.equals(addon.getId()))
                {
@@ -154,6 +192,8 @@ public class AddonLifecycleManager
 
                Set<Addon> addons = _getAddonsForView(view);
                addons.add(result);
+               if (updating == 0)
+                  publishSnapshot(view);
             }
 
             return result;
@@ -167,25 +207,62 @@ public class AddonLifecycleManager
       return getAddons(view, AddonFilters.all());
    }
 
+   /**
+    * Return the {@link Addon} instances of the given {@link AddonView} accepted by the given {@link AddonFilter}. Reads
+    * the last published {@link AddonViewSnapshot} and does not obtain a lock.
+    */
    public Set<Addon> getAddons(final AddonView view, final AddonFilter filter)
    {
-      return lock.performLocked(LockMode.READ, new Callable<Set<Addon>>()
+      HashSet<Addon> result = new HashSet<Addon>();
+
+      for (Addon addon : getSnapshot(view).getAddons())
       {
-         @Override
-         public Set<Addon> call() throws Exception
-         {
-            HashSet<Addon> result = new HashSet<Addon>();
+         if (filter.accept(addon))
+            result.add(addon);
+      }
 
-            for (Addon addon : _getAddonsForView(view))
-            {
-               if (filter.accept(addon))
-                  result.add(addon);
-            }
+      return result;
+   }
 
-            return result;
-         }
+   /**
+    * Return the started {@link Addon} instances of the given {@link AddonView} that export a service type with the given
+    * name, or a sub-type thereof. Does not obtain a lock.
+    */
+   List<Addon> getServiceProviders(final AddonView view, final String typeName)
+   {
+      List<Addon> providers = stateManager.getServiceProvidersOf(typeName);
+      if (providers.isEmpty())
+         return providers;
 
-      });
+      AddonViewSnapshot snapshot = getSnapshot(view);
+      List<Addon> result = new ArrayList<>(providers.size());
+      for (Addon addon : providers)
+      {
+         if (snapshot.contains(addon) && addon.getStatus().isStarted())
+            result.add(addon);
+      }
+      return result;
+   }
+
+   AddonViewSnapshot getSnapshot(final AddonView view)
+   {
+      AddonViewSnapshot snapshot = snapshots.get(view);
+      return snapshot == null ? AddonViewSnapshot.EMPTY : snapshot;
+   }
+
+   private void publishSnapshot(final AddonView view)
+   {
+      Set<Addon> addons = addonViews.get(view);
+      if (addons != null && views.containsKey(view))
+         snapshots.put(view, new AddonViewSnapshot(generation.incrementAndGet(), addons));
+   }
+
+   private void publishSnapshots()
+   {
+      for (AddonView view : addonViews.keySet())
+      {
+         publishSnapshot(view);
+      }
    }
 
    private Set<Addon> _getAddonsForView(final AddonView view)
@@ -214,10 +291,7 @@ public class AddonLifecycleManager
                if (starting.get() == -1)
                   starting.set(0);
 
-               OptimizedAddonGraph graph = new OptimizedAddonGraph(view,
-                        new CompleteAddonGraph(view.getRepositories()).getGraph());
-
-               master.merge(graph);
+               master.merge(getViewGraph(view));
 
                if (logger.isLoggable(Level.FINE))
                {
@@ -233,13 +307,88 @@ public class AddonLifecycleManager
             MasterGraph last = stateManager.getCurrentGraph();
             stateManager.setCurrentGraph(master);
 
-            new MasterGraphChangeHandler(AddonLifecycleManager.this, last, master).hotSwapChanges();
+            updating++;
+            try
+            {
+               new MasterGraphChangeHandler(AddonLifecycleManager.this, last, master).hotSwapChanges();
+            }
+            finally
+            {
+               if (--updating == 0)
+                  publishSnapshots();
+            }
 
             return null;
          }
       });
    }
 
+   /**
+    * Return the {@link OptimizedAddonGraph} of the given {@link AddonView}, rebuilding it only if it was invalidated or
+    * the version of any of its {@link AddonRepository} instances has changed since it was built.
+    */
+   private OptimizedAddonGraph getViewGraph(AddonView view)
+   {
+      ViewGraph cached = viewGraphs.get(view);
+      if (cached != null && cached.isCurrent(view.getRepositories()))
+         return cached.graph;
+
+      Map<AddonRepository, Integer> versions = getRepositoryVersions(view.getRepositories());
+      OptimizedAddonGraph graph = new OptimizedAddonGraph(view,
+               new CompleteAddonGraph(view.getRepositories()).getGraph());
+      viewGraphs.put(view, new ViewGraph(graph, versions));
+      return graph;
+   }
+
+   /**
+    * Discard the cached graphs of all {@link AddonView} instances containing the given {@link AddonRepository}, so that
+    * they are rebuilt by the next {@link #forceUpdate()}.
+    */
+   public void invalidate(AddonRepository repository)
+   {
+      Iterator<AddonView> iterator = viewGraphs.keySet().iterator();
+      while (iterator.hasNext())
+      {
+         if (iterator.next().getRepositories().contains(repository))
+            iterator.remove();
+      }
+   }
+
+   /**
+    * Discard the cached graphs of all {@link AddonView} instances.
+    */
+   public void invalidateAll()
+   {
+      viewGraphs.clear();
+   }
+
+   private static Map<AddonRepository, Integer> getRepositoryVersions(Set<AddonRepository> repositories)
+   {
+      Map<AddonRepository, Integer> result = new HashMap<AddonRepository, Integer>();
+      for (AddonRepository repository : repositories)
+      {
+         result.put(repository, repository.getVersion());
+      }
+      return result;
+   }
+
+   private static class ViewGraph
+   {
+      private final OptimizedAddonGraph graph;
+      private final Map<AddonRepository, Integer> versions;
+
+      public ViewGraph(OptimizedAddonGraph graph, Map<AddonRepository, Integer> versions)
+      {
+         this.graph = graph;
+         this.versions = versions;
+      }
+
+      public boolean isCurrent(Set<AddonRepository> repositories)
+      {
+         return versions.equals(getRepositoryVersions(repositories));
+      }
+   }
+
    public void loadAddon(Addon addon)
    {
       try
@@ -252,6 +401,11 @@ public class AddonLifecycleManager
       }
    }
 
+   public void loadAddons(List<Addon> addons)
+   {
+      loader.loadAddons(addons);
+   }
+
    public void stopAddon(Addon addon)
    {
       Callables.call(new StopAddonCallable(stateManager, addon));
@@ -316,6 +470,14 @@ public class AddonLifecycleManager
       Callables.call(new StartEnabledAddonCallable(furnace, this, stateManager, executor, starting, addon));
    }
 
+   /**
+    * Returns the {@link AddonStartupExecutor} used to start {@link Addon} instances, and its statistics.
+    */
+   public AddonStartupExecutor getStartupExecutor()
+   {
+      return executor;
+   }
+
    public AddonView getRootView()
    {
       return furnace.getAddonRegistry();
@@ -357,6 +519,10 @@ public class AddonLifecycleManager
       if (!views.keySet().contains(view))
          throw new IllegalArgumentException("The given view does not belong to this Furnace instance.");
       views.remove(view);
+      snapshots.remove(view);
+      viewGraphs.remove(view);
+      observerIndexes.remove(view);
+      eventManagers.remove(view);
    }
 
    @Override
@@ -383,7 +549,32 @@ public class AddonLifecycleManager
     */
    public EventManager getEventManager(AddonView addonView)
    {
-      return new AddonViewEventManager(addonView, lock);
+      AddonViewEventManager result = eventManagers.get(addonView);
+      if (result == null)
+      {
+         result = new AddonViewEventManager(addonView, this, eventExecutor);
+         if (views.containsKey(addonView))
+            eventManagers.put(addonView, result);
+      }
+      return result;
+   }
+
+   /**
+    * Return the {@link Addon} instances of the given {@link AddonView} whose {@link EventManager} observes events of
+    * the given type. Does not obtain a lock.
+    */
+   public List<Addon> getObservers(AddonView view, Class<?> eventType)
+   {
+      long eventManagerGeneration = stateManager.getEventManagerGeneration();
+      AddonViewSnapshot snapshot = getSnapshot(view);
+      AddonObserverIndex index = observerIndexes.get(view);
+      if (index == null || !index.isCurrent(snapshot, eventManagerGeneration))
+      {
+         index = new AddonObserverIndex(snapshot, eventManagerGeneration);
+         if (views.containsKey(view))
+            observerIndexes.put(view, index);
+      }
+      return index.getObservers(eventType);
    }
 
 }
@@ -6,7 +6,11 @@
  */
 package org.jboss.forge.furnace.impl.addons;
 
+import java.io.File;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -58,55 +62,118 @@ public class AddonLoader
       {
          stateManager.cancel(addon);
          loader.releaseAddonModule(addon);
-         Set<AddonView> views = stateManager.getViewsOf(addon);
-         Set<AddonRepository> repositories = views.iterator().next().getRepositories();
+         loadReleasedAddon(addon);
+      }
+   }
+
+   /**
+    * Load the given {@link Addon} instances in the given order, which must respect their dependencies. The resources of
+    * all addons are opened and indexed in parallel before their modules are loaded one after another.
+    * <p>
+    * Failures are reported per {@link Addon}, and do not prevent the remaining addons from loading.
+    */
+   public void loadAddons(List<Addon> addons)
+   {
+      Map<Addon, List<File>> resources = new LinkedHashMap<Addon, List<File>>();
+      for (Addon addon : addons)
+      {
+         Assert.notNull(addon, "Addon to load must not be null.");
+         if (!addon.getStatus().isLoaded())
+         {
+            stateManager.cancel(addon);
+            loader.releaseAddonModule(addon);
+
+            AddonRepository repository = getLoadableRepository(addon);
+            if (repository != null)
+               resources.put(addon, repository.getAddonResources(addon.getId()));
+         }
+      }
 
-         for (AddonRepository repository : repositories)
+      try
+      {
+         loader.prepareAddonModules(resources);
+         for (Addon addon : addons)
          {
-            if (!addon.getStatus().isLoaded()
-                     && repository.isEnabled(addon.getId())
-                     && repository.isDeployed(addon.getId()))
+            if (!addon.getStatus().isLoaded())
             {
-               Set<AddonDependency> dependencies = fromAddonDependencyEntries(addon,
-                        repository.getAddonDependencies(addon.getId()));
+               try
+               {
+                  loadReleasedAddon(addon);
+               }
+               catch (Exception e)
+               {
+                  logger.log(Level.WARNING, "Failed to load addon [" + addon.getId() + "]", e);
+               }
+            }
+         }
+      }
+      finally
+      {
+         loader.discardPreparedAddonModules();
+      }
+   }
+
+   private AddonRepository getLoadableRepository(Addon addon)
+   {
+      Set<AddonView> views = stateManager.getViewsOf(addon);
+      for (AddonRepository repository : views.iterator().next().getRepositories())
+      {
+         if (repository.isEnabled(addon.getId()) && repository.isDeployed(addon.getId()))
+            return repository;
+      }
+      return null;
+   }
+
+   private void loadReleasedAddon(Addon addon)
+   {
+      Set<AddonView> views = stateManager.getViewsOf(addon);
+      Set<AddonRepository> repositories = views.iterator().next().getRepositories();
+
+      for (AddonRepository repository : repositories)
+      {
+         if (!addon.getStatus().isLoaded()
+                  && repository.isEnabled(addon.getId())
+                  && repository.isDeployed(addon.getId()))
+         {
+            Set<AddonDependency> dependencies = fromAddonDependencyEntries(addon,
+                     repository.getAddonDependencies(addon.getId()));
 
-               Set<AddonDependency> missingRequiredDependencies = new LinkedHashSet<AddonDependency>();
-               for (AddonDependency addonDependency : dependencies)
+            Set<AddonDependency> missingRequiredDependencies = new LinkedHashSet<AddonDependency>();
+            for (AddonDependency addonDependency : dependencies)
+            {
+               if (addonDependency instanceof MissingAddonDependencyImpl && !addonDependency.isOptional())
                {
-                  if (addonDependency instanceof MissingAddonDependencyImpl && !addonDependency.isOptional())
-                  {
-                     missingRequiredDependencies.add(addonDependency);
-                  }
+                  missingRequiredDependencies.add(addonDependency);
                }
+            }
 
-               if (!missingRequiredDependencies.isEmpty())
+            if (!missingRequiredDependencies.isEmpty())
+            {
+               if (stateManager.getMissingDependenciesOf(addon).size() != missingRequiredDependencies.size())
+               {
+                  logger.warning("Addon [" + addon + "] has [" + missingRequiredDependencies.size()
+                           + "] missing dependencies: "
+                           + missingRequiredDependencies + " and will be not be loaded until all required"
+                           + " dependencies are available.");
+               }
+               stateManager.setState(addon, new AddonState(missingRequiredDependencies));
+            }
+            else
+            {
+               try
+               {
+                  Module module = loader.loadAddonModule(addon);
+                  stateManager.setState(addon, new AddonState(dependencies, repository, module.getClassLoader()));
+               }
+               catch (RuntimeException e)
                {
-                  if (stateManager.getMissingDependenciesOf(addon).size() != missingRequiredDependencies.size())
-                  {
-                     logger.warning("Addon [" + addon + "] has [" + missingRequiredDependencies.size()
-                              + "] missing dependencies: "
-                              + missingRequiredDependencies + " and will be not be loaded until all required"
-                              + " dependencies are available.");
-                  }
-                  stateManager.setState(addon, new AddonState(missingRequiredDependencies));
+                  logger.log(Level.FINE, "Failed to load addon [" + addon.getId() + "]", e);
+                  throw e;
                }
-               else
+               catch (Exception e)
                {
-                  try
-                  {
-                     Module module = loader.loadAddonModule(addon);
-                     stateManager.setState(addon, new AddonState(dependencies, repository, module.getClassLoader()));
-                  }
-                  catch (RuntimeException e)
-                  {
-                     logger.log(Level.FINE, "Failed to load addon [" + addon.getId() + "]", e);
-                     throw e;
-                  }
-                  catch (Exception e)
-                  {
-                     logger.log(Level.FINE, "Failed to load addon [" + addon.getId() + "]", e);
-                     throw new ContainerException("Failed to load addon [" + addon.getId() + "]", e);
-                  }
+                  logger.log(Level.FINE, "Failed to load addon [" + addon.getId() + "]", e);
+                  throw new ContainerException("Failed to load addon [" + addon.getId() + "]", e);
                }
             }
          }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.impl.addons;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.forge.furnace.addons.Addon;
+import org.jboss.forge.furnace.event.EventManager;
+
+/**
+ * Index from event types to the {@link Addon} instances of an {@link AddonViewSnapshot} whose {@link EventManager}
+ * observes them, as reported by {@link EventManager#isObserved(Class)}. Each event type is resolved once, the first
+ * time it is fired. An index is only valid for the {@link AddonViewSnapshot} and the {@link EventManager} generation it
+ * was built from.
+ */
+final class AddonObserverIndex
+{
+   private static final Logger logger = Logger.getLogger(AddonObserverIndex.class.getName());
+
+   private final AddonViewSnapshot snapshot;
+   private final long eventManagerGeneration;
+   private final ConcurrentMap<Class<?>, List<Addon>> observers = new ConcurrentHashMap<>();
+
+   AddonObserverIndex(AddonViewSnapshot snapshot, long eventManagerGeneration)
+   {
+      this.snapshot = snapshot;
+      this.eventManagerGeneration = eventManagerGeneration;
+   }
+
+   boolean isCurrent(AddonViewSnapshot snapshot, long eventManagerGeneration)
+   {
+      return this.snapshot == snapshot && this.eventManagerGeneration == eventManagerGeneration;
+   }
+
+   /**
+    * Returns the immutable {@link List} of {@link Addon} instances observing the given event type.
+    */
+   List<Addon> getObservers(Class<?> eventType)
+   {
+      List<Addon> result = observers.get(eventType);
+      if (result == null)
+      {
+         List<Addon> list = new ArrayList<>();
+         for (Addon addon : snapshot.getAddons())
+         {
+            if (isObserved(addon, eventType))
+               list.add(addon);
+         }
+         result = Collections.unmodifiableList(list);
+         observers.put(eventType, result);
+      }
+      return result;
+   }
+
+   private static boolean isObserved(Addon addon, Class<?> eventType)
+   {
+      try
+      {
+         return addon.getEventManager().isObserved(eventType);
+      }
+      catch (RuntimeException e)
+      {
+         logger.log(Level.FINE, "Could not determine if [" + addon + "] observes [" + eventType.getName() + "]", e);
+         return true;
+      }
+   }
+}
@@ -11,10 +11,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.forge.furnace.addons.Addon;
 import org.jboss.forge.furnace.addons.AddonFilter;
@@ -22,7 +22,6 @@ import org.jboss.forge.furnace.addons.AddonId;
 import org.jboss.forge.furnace.addons.AddonRegistry;
 import org.jboss.forge.furnace.event.EventManager;
 import org.jboss.forge.furnace.lock.LockManager;
-import org.jboss.forge.furnace.lock.LockMode;
 import org.jboss.forge.furnace.repositories.AddonRepository;
 import org.jboss.forge.furnace.services.Imported;
 import org.jboss.forge.furnace.spi.ServiceRegistry;
@@ -42,8 +41,7 @@ public class AddonRegistryImpl implements AddonRegistry
    private final AddonLifecycleManager manager;
    private final String name;
 
-   private static Map<String, Imported<?>> importedCache = new ConcurrentHashMap<>();
-   private long cacheVersion = -1;
+   private volatile ImportedCache importedCache = new ImportedCache(-1);
 
    public AddonRegistryImpl(LockManager lock, AddonLifecycleManager manager, List<AddonRepository> repositories,
             String name)
@@ -62,7 +60,7 @@ public class AddonRegistryImpl implements AddonRegistry
    @Override
    public void dispose()
    {
-      importedCache.clear();
+      importedCache = new ImportedCache(-1);
       manager.removeView(this);
       repositories.clear();
    }
@@ -71,21 +69,14 @@ public class AddonRegistryImpl implements AddonRegistry
    public Addon getAddon(final AddonId id)
    {
       Assert.notNull(id, "AddonId must not be null.");
-      return lock.performLocked(LockMode.WRITE, new Callable<Addon>()
-      {
-         @Override
-         public Addon call() throws Exception
-         {
-            Addon result = null;
-            while (result == null)
-            {
-               result = manager.getAddon(AddonRegistryImpl.this, id);
-               if (result == null)
-                  Thread.sleep(10);
-            }
-            return result;
-         }
-      });
+      return manager.getAddon(this, id);
+   }
+
+   @Override
+   public CompletableFuture<Addon> whenStarted(final AddonId id)
+   {
+      Assert.notNull(id, "AddonId must not be null.");
+      return manager.getStartup(this, id);
    }
 
    @Override
@@ -97,22 +88,7 @@ public class AddonRegistryImpl implements AddonRegistry
    @Override
    public Set<Addon> getAddons(final AddonFilter filter)
    {
-      return lock.performLocked(LockMode.READ, new Callable<Set<Addon>>()
-      {
-         @Override
-         public Set<Addon> call() throws Exception
-         {
-            HashSet<Addon> result = new HashSet<>();
-
-            for (Addon addon : manager.getAddons(AddonRegistryImpl.this))
-            {
-               if (filter.accept(addon))
-                  result.add(addon);
-            }
-
-            return result;
-         }
-      });
+      return manager.getAddons(this, filter);
    }
 
    /**
@@ -133,71 +109,85 @@ public class AddonRegistryImpl implements AddonRegistry
    @SuppressWarnings("unchecked")
    public <T> Imported<T> getServices(final Class<T> type)
    {
-      if (getVersion() != cacheVersion)
+      ConcurrentMap<Class<?>, Imported<?>> cache = getImportedCache().byType;
+      Imported<?> imported = cache.get(type);
+      if (imported == null)
       {
-         cacheVersion = getVersion();
-         importedCache.clear();
+         imported = new ImportedImpl<>(this, type);
+         Imported<?> existing = cache.putIfAbsent(type, imported);
+         if (existing != null)
+            imported = existing;
       }
+      return (Imported<T>) imported;
+   }
 
-      String cacheKey = type.getName()
-               + (type.getClassLoader() == null ? "SystemCL" : type.getClassLoader().toString());
-      Imported<?> imported = importedCache.get(cacheKey);
+   @Override
+   @SuppressWarnings("unchecked")
+   public <T> Imported<T> getServices(final String typeName)
+   {
+      ConcurrentMap<String, Imported<?>> cache = getImportedCache().byName;
+      Imported<?> imported = cache.get(typeName);
       if (imported == null)
       {
-         imported = new ImportedImpl<>(this, lock, type);
-         importedCache.put(cacheKey, imported);
+         imported = new ImportedImpl<>(this, typeName);
+         Imported<?> existing = cache.putIfAbsent(typeName, imported);
+         if (existing != null)
+            imported = existing;
       }
       return (Imported<T>) imported;
    }
 
-   @Override
-   public <T> Imported<T> getServices(final String typeName)
+   /**
+    * Returns the {@link Imported} cache of this registry, replacing it with an empty one if the registry version has
+    * changed. Cached {@link Imported} instances stay valid across versions on their own; the cache is replaced only so
+    * that {@link Class} types of stopped addons, and their {@link ClassLoader}, are not retained.
+    */
+   private ImportedCache getImportedCache()
    {
-      return new ImportedImpl<>(this, lock, typeName);
+      ImportedCache cache = importedCache;
+      long version = getVersion();
+      if (cache.version != version)
+      {
+         cache = new ImportedCache(version);
+         importedCache = cache;
+      }
+      return cache;
    }
 
    @Override
    public Set<Class<?>> getExportedTypes()
    {
-      return lock.performLocked(LockMode.READ, new Callable<Set<Class<?>>>()
+      Set<Class<?>> result = new HashSet<>();
+      for (Addon addon : manager.getSnapshot(this).getAddons())
       {
-         @Override
-         public Set<Class<?>> call() throws Exception
+         if (addon.getStatus().isStarted())
          {
-            Set<Class<?>> result = new HashSet<>();
-            for (Addon addon : getAddons())
-            {
-               if (addon.getStatus().isStarted())
-               {
-                  ServiceRegistry serviceRegistry = addon.getServiceRegistry();
-                  result.addAll(serviceRegistry.getExportedTypes());
-               }
-            }
-            return result;
+            ServiceRegistry serviceRegistry = addon.getServiceRegistry();
+            result.addAll(serviceRegistry.getExportedTypes());
          }
-      });
+      }
+      return result;
    }
 
    @Override
    public <T> Set<Class<T>> getExportedTypes(final Class<T> type)
    {
-      return lock.performLocked(LockMode.READ, new Callable<Set<Class<T>>>()
+      Set<Class<T>> result = new HashSet<>();
+      for (Addon addon : getServiceProviders(type.getName()))
       {
-         @Override
-         public Set<Class<T>> call() throws Exception
-         {
-            Set<Class<T>> result = new HashSet<>();
-            for (Addon addon : getAddons())
-            {
-               if (addon.getStatus().isStarted())
-               {
-                  ServiceRegistry serviceRegistry = addon.getServiceRegistry();
-                  result.addAll(serviceRegistry.getExportedTypes(type));
-               }
-            }
-            return result;
-         }
-      });
+         ServiceRegistry serviceRegistry = addon.getServiceRegistry();
+         result.addAll(serviceRegistry.getExportedTypes(type));
+      }
+      return result;
+   }
+
+   /**
+    * Return the started {@link Addon} instances of this registry that export a service type with the given name, or a
+    * sub-type thereof.
+    */
+   List<Addon> getServiceProviders(String typeName)
+   {
+      return manager.getServiceProviders(this, typeName);
    }
 
    @Override
@@ -285,4 +275,15 @@ public class AddonRegistryImpl implements AddonRegistry
       return true;
    }
 
+   private static class ImportedCache
+   {
+      private final long version;
+      private final ConcurrentMap<Class<?>, Imported<?>> byType = new ConcurrentHashMap<>();
+      private final ConcurrentMap<String, Imported<?>> byName = new ConcurrentHashMap<>();
+
+      public ImportedCache(long version)
+      {
+         this.version = version;
+      }
+   }
 }
@@ -7,6 +7,7 @@
 package org.jboss.forge.furnace.impl.addons;
 
 import java.io.File;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -134,6 +135,12 @@ public final class AddonRepositoryImpl implements MutableAddonRepository, DirtyC
       return stateRepository.enable(addon);
    }
 
+   @Override
+   public boolean enableAll(Collection<AddonId> addons)
+   {
+      return stateRepository.enableAll(addons);
+   }
+
    @Override
    public boolean isEnabled(AddonId addon)
    {
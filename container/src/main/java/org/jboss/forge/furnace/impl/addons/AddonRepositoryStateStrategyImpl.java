@@ -10,11 +10,22 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -50,7 +61,11 @@ public final class AddonRepositoryStateStrategyImpl extends AbstractFileSystemAd
 
    private final Furnace furnace;
 
-   private int version = 1;
+   private final List<VersionDirtyChecker> dirtyCheckers = new CopyOnWriteArrayList<>();
+
+   private volatile int version = 1;
+
+   private volatile InstalledAddons installedAddons;
 
    public AddonRepositoryStateStrategyImpl(Furnace furnace, File addonDir)
    {
@@ -96,15 +111,33 @@ public final class AddonRepositoryStateStrategyImpl extends AbstractFileSystemAd
 
    @Override
    public boolean enable(final AddonId addon)
+   {
+      return enableAll(Collections.singletonList(addon));
+   }
+
+   /**
+    * Enable all of the given {@link AddonId} instances with a single write of the registry file, so that the version of
+    * this repository is only incremented once.
+    */
+   @Override
+   public boolean enableAll(final Collection<AddonId> addons)
    {
       return lock.performLocked(LockMode.WRITE, new Callable<Boolean>()
       {
          @Override
          public Boolean call() throws Exception
          {
-            if (addon == null)
+            for (AddonId addon : addons)
             {
-               throw new RuntimeException("AddonId must not be null");
+               if (addon == null)
+               {
+                  throw new RuntimeException("AddonId must not be null");
+               }
+            }
+
+            if (addons.isEmpty())
+            {
+               return true;
             }
 
             File registryFile = getRepositoryRegistryFile();
@@ -112,9 +145,12 @@ public final class AddonRepositoryStateStrategyImpl extends AbstractFileSystemAd
             {
                Node installed = getXmlRoot(registryFile);
 
-               installed.getOrCreate("addon@" + ATTR_NAME + "=" + (addon.getName() == null ? "" : addon.getName()) +
-                        "&" + ATTR_VERSION + "=" + addon.getVersion())
-                        .attribute(ATTR_API_VERSION, (addon.getApiVersion() == null ? "" : addon.getApiVersion()));
+               for (AddonId addon : addons)
+               {
+                  installed.getOrCreate("addon@" + ATTR_NAME + "=" + (addon.getName() == null ? "" : addon.getName())
+                           + "&" + ATTR_VERSION + "=" + addon.getVersion())
+                           .attribute(ATTR_API_VERSION, (addon.getApiVersion() == null ? "" : addon.getApiVersion()));
+               }
 
                saveRegistryFile(installed);
                return true;
@@ -155,12 +191,14 @@ public final class AddonRepositoryStateStrategyImpl extends AbstractFileSystemAd
    @Override
    public boolean isEnabled(final AddonId addon)
    {
+      final AddonCompatibilityStrategy strategy = furnace.getAddonCompatibilityStrategy();
       return lock.performLocked(LockMode.READ, new Callable<Boolean>()
       {
          @Override
          public Boolean call() throws Exception
          {
-            return listEnabled().contains(addon);
+            AddonId entry = getInstalledAddons().get(addon);
+            return entry != null && strategy.isCompatible(furnace, entry);
          }
       });
    }
@@ -174,9 +212,8 @@ public final class AddonRepositoryStateStrategyImpl extends AbstractFileSystemAd
          @Override
          public List<AddonId> call() throws Exception
          {
-            List<AddonId> list = listAll();
             List<AddonId> result = new ArrayList<>();
-            for (AddonId entry : list)
+            for (AddonId entry : getInstalledAddons().getAddons())
             {
                if (strategy.isCompatible(furnace, entry))
                {
@@ -197,9 +234,8 @@ public final class AddonRepositoryStateStrategyImpl extends AbstractFileSystemAd
          @Override
          public List<AddonId> call() throws Exception
          {
-            List<AddonId> list = listAll();
             List<AddonId> result = new ArrayList<>();
-            for (AddonId entry : list)
+            for (AddonId entry : getInstalledAddons().getAddons())
             {
                if (version == null || entry.getApiVersion() == null
                         || Versions.isApiCompatible(version, entry.getApiVersion()))
@@ -220,36 +256,61 @@ public final class AddonRepositoryStateStrategyImpl extends AbstractFileSystemAd
          @Override
          public List<AddonId> call() throws Exception
          {
-            List<AddonId> result = new ArrayList<>();
-            File registryFile = getRepositoryRegistryFile();
-            try
+            return new ArrayList<>(getInstalledAddons().getAddons());
+         }
+      });
+   }
+
+   /**
+    * Returns the parsed contents of the registry file, re-reading it only if it was changed since it was last parsed.
+    */
+   private InstalledAddons getInstalledAddons() throws InterruptedException
+   {
+      int currentVersion = version;
+      File registryFile = getRepositoryRegistryFile();
+      BasicFileAttributes attributes;
+      try
+      {
+         attributes = Files.readAttributes(registryFile.toPath(), BasicFileAttributes.class);
+      }
+      catch (IOException e)
+      {
+         // this is OK, no addons installed
+         return InstalledAddons.EMPTY;
+      }
+
+      InstalledAddons result = installedAddons;
+      if (result == null || !result.isCurrent(currentVersion, attributes))
+      {
+         List<AddonId> addons = new ArrayList<>();
+         try
+         {
+            Node root = getXmlRoot(registryFile);
+            if (root != null)
             {
-               Node installed = getXmlRoot(registryFile);
-               if (installed == null)
-               {
-                  return Collections.emptyList();
-               }
-               List<Node> list = installed.get("addon");
-               for (Node addon : list)
+               for (Node addon : root.get("addon"))
                {
                   AddonId entry = AddonId.from(addon.getAttribute(ATTR_NAME),
                            addon.getAttribute(ATTR_VERSION),
                            addon.getAttribute(ATTR_API_VERSION));
-                  result.add(entry);
+                  addons.add(entry);
                }
             }
-            catch (XMLParserException e)
-            {
-               throw new RuntimeException("Invalid syntax in [" + registryFile.getAbsolutePath()
-                        + "] - Please delete this file and restart Furnace", e);
-            }
-            catch (FileNotFoundException e)
-            {
-               // this is OK, no addons installed
-            }
-            return result;
          }
-      });
+         catch (XMLParserException e)
+         {
+            throw new RuntimeException("Invalid syntax in [" + registryFile.getAbsolutePath()
+                     + "] - Please delete this file and restart Furnace", e);
+         }
+         catch (FileNotFoundException e)
+         {
+            // this is OK, no addons installed
+            return InstalledAddons.EMPTY;
+         }
+         result = new InstalledAddons(currentVersion, attributes, addons);
+         installedAddons = result;
+      }
+      return result;
    }
 
    static Node getXmlRoot(File registryFile) throws FileNotFoundException, InterruptedException
@@ -273,29 +334,108 @@ public final class AddonRepositoryStateStrategyImpl extends AbstractFileSystemAd
       return version;
    }
 
-   private void saveRegistryFile(Node installed) throws FileNotFoundException
+   /**
+    * Write the registry file to a temporary file, sync it to disk, and then rename it over the registry file, so that
+    * readers never observe a partially written registry.
+    */
+   private void saveRegistryFile(Node installed) throws IOException
    {
-      FileOutputStream outStream = null;
+      Path registryFile = getRepositoryRegistryFile().toPath();
+      Path tempFile = Files.createTempFile(registryFile.getParent(), "." + REGISTRY_DESCRIPTOR_NAME, ".tmp");
       try
       {
-         outStream = new FileOutputStream(getRepositoryRegistryFile());
-         incrementVersion();
-         Streams.write(XMLParser.toXMLInputStream(installed), outStream);
+         // temporary files are only accessible by their owner, keep the permissions of the registry file instead
+         if (Files.getFileStore(registryFile).supportsFileAttributeView(PosixFileAttributeView.class))
+         {
+            Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(registryFile));
+         }
+
+         try (FileOutputStream outStream = new FileOutputStream(tempFile.toFile()))
+         {
+            Streams.write(XMLParser.toXMLInputStream(installed), outStream);
+            outStream.getFD().sync();
+         }
+
+         try
+         {
+            Files.move(tempFile, registryFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+         }
+         catch (AtomicMoveNotSupportedException e)
+         {
+            Files.move(tempFile, registryFile, StandardCopyOption.REPLACE_EXISTING);
+         }
       }
       finally
       {
-         Streams.closeQuietly(outStream);
+         Files.deleteIfExists(tempFile);
       }
+      incrementVersion();
    }
 
    private void incrementVersion()
    {
       version++;
+      for (VersionDirtyChecker dirtyChecker : dirtyCheckers)
+      {
+         dirtyChecker.versionChanged();
+      }
    }
 
    @Override
    public DirtyChecker createDirtyChecker()
    {
-      return new VersionDirtyChecker(this::getVersion);
+      VersionDirtyChecker dirtyChecker = new VersionDirtyChecker(this::getVersion, true)
+      {
+         @Override
+         public void close() throws Exception
+         {
+            dirtyCheckers.remove(this);
+            super.close();
+         }
+      };
+      dirtyCheckers.add(dirtyChecker);
+      return dirtyChecker;
+   }
+
+   /**
+    * Immutable snapshot of the registry file contents.
+    */
+   private static final class InstalledAddons
+   {
+      static final InstalledAddons EMPTY = new InstalledAddons(0, null, Collections.<AddonId> emptyList());
+
+      private final int version;
+      private final FileTime lastModified;
+      private final long size;
+      private final List<AddonId> addons;
+      private final Map<AddonId, AddonId> index = new HashMap<>();
+
+      InstalledAddons(int version, BasicFileAttributes attributes, List<AddonId> addons)
+      {
+         this.version = version;
+         this.lastModified = attributes == null ? null : attributes.lastModifiedTime();
+         this.size = attributes == null ? -1 : attributes.size();
+         this.addons = Collections.unmodifiableList(addons);
+         for (AddonId addon : addons)
+         {
+            index.put(addon, addon);
+         }
+      }
+
+      boolean isCurrent(int version, BasicFileAttributes attributes)
+      {
+         return this.version == version && attributes.size() == size
+                  && attributes.lastModifiedTime().equals(lastModified);
+      }
+
+      List<AddonId> getAddons()
+      {
+         return addons;
+      }
+
+      AddonId get(AddonId addon)
+      {
+         return addon == null ? null : index.get(addon);
+      }
    }
 }
@@ -10,12 +10,23 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,6 +57,12 @@ public final class AddonRepositoryStorageStrategyImpl extends AbstractFileSystem
     */
    private static final String DEPLOY_AS_SYMLINK_SYSTEM_PROPERTY = "furnace.addon.deploy_as_symlink";
 
+   /**
+    * Setting this system property to <code>false</code> prevents Furnace from deploying addon JAR files as hard links, so
+    * that they are always copied
+    */
+   private static final String DEPLOY_AS_HARDLINK_SYSTEM_PROPERTY = "furnace.addon.deploy_as_hardlink";
+
    private static final Logger logger = Logger.getLogger(AddonRepositoryStorageStrategyImpl.class.getName());
 
    private static final String ATTR_EXPORT = "export";
@@ -58,6 +75,11 @@ public final class AddonRepositoryStorageStrategyImpl extends AbstractFileSystem
    private static final String DEPENDENCY_TAG_NAME = "dependency";
    private static final String DEPENDENCIES_TAG_NAME = "dependencies";
 
+   private static final int DESCRIPTOR_PARSE_ATTEMPTS = 10;
+   private static final long DESCRIPTOR_PARSE_RETRY_MILLIS = 50;
+
+   private final Map<AddonId, CachedDependencies> dependencyCache = new ConcurrentHashMap<>();
+
    public AddonRepositoryStorageStrategyImpl(LockManager lock, File addonDir)
    {
       super(lock, addonDir);
@@ -73,83 +95,133 @@ public final class AddonRepositoryStorageStrategyImpl extends AbstractFileSystem
          public Boolean call() throws Exception
          {
             File addonSlotDir = getAddonBaseDir(addon);
-            File descriptor = getAddonDescriptor(addon);
-            if (resources != null)
+            if (addonSlotDir.exists())
             {
-               for (File resource : resources)
-               {
-                  if (resource.isDirectory())
-                  {
-                     String child = addon.getName()
-                              + resource.getParentFile().getParentFile().getName();
-                     child = OperatingSystemUtils.getSafeFilename(child);
-                     File target = new File(addonSlotDir, child);
-                     if (Boolean.getBoolean(DEPLOY_AS_SYMLINK_SYSTEM_PROPERTY))
-                     {
-                        logger.fine("Creating symlink from " + resource + " to " + target);
-                        java.nio.file.Files.createSymbolicLink(target.toPath(), resource.toPath());
-                     }
-                     else
-                     {
-                        logger.fine("Copying " + resource + " to " + target);
-                        Files.copyDirectory(resource, target);
-                     }
-                  }
-                  else
-                  {
-                     if (Boolean.getBoolean(DEPLOY_AS_SYMLINK_SYSTEM_PROPERTY))
-                     {
-                        logger.fine("Creating symlink from " + resource + " to "
-                                 + addonSlotDir.toPath().resolve(resource.getName()));
-                        java.nio.file.Files.createSymbolicLink(addonSlotDir.toPath().resolve(resource.getName()),
-                                 resource.toPath());
-                     }
-                     else
-                     {
-                        logger.fine("Copying " + resource + " to " + addonSlotDir);
-                        Files.copyFileToDirectory(resource, addonSlotDir);
-                     }
-                  }
-               }
+               return deployTo(addon, dependencies, resources, addonSlotDir, getAddonDescriptor(addon));
             }
+
             /*
-             * Write out the addon module dependency configuration
+             * Deploy a new addon into a staging directory first, so that it appears in the repository all at once
              */
-            Node addonXml = getXmlRoot(descriptor);
-            Node dependenciesNode = addonXml.getOrCreate(DEPENDENCIES_TAG_NAME);
+            File stagingDir = new File(getRootDirectory(), "." + addonSlotDir.getName() + ".deploying-"
+                     + System.nanoTime());
+            try
+            {
+               if (!stagingDir.mkdirs())
+                  throw new IOException("Staging directory '" + stagingDir + "' cannot be created");
+               File descriptor = new File(stagingDir, ADDON_DESCRIPTOR_FILENAME);
+               try (FileOutputStream stream = new FileOutputStream(descriptor))
+               {
+                  Streams.write(XMLParser.toXMLInputStream(XMLParser.parse("<addon/>")), stream);
+               }
+
+               deployTo(addon, dependencies, resources, stagingDir, descriptor);
+               try
+               {
+                  java.nio.file.Files.move(stagingDir.toPath(), addonSlotDir.toPath(),
+                           StandardCopyOption.ATOMIC_MOVE);
+               }
+               catch (AtomicMoveNotSupportedException e)
+               {
+                  java.nio.file.Files.move(stagingDir.toPath(), addonSlotDir.toPath());
+               }
+               return true;
+            }
+            finally
+            {
+               if (stagingDir.exists())
+                  Files.delete(stagingDir, true);
+            }
+         }
+      });
+   }
+
+   private boolean deployTo(AddonId addon, Iterable<AddonDependencyEntry> dependencies, Iterable<File> resources,
+            File addonSlotDir, File descriptor) throws Exception
+   {
+      if (resources != null)
+      {
+         List<Callable<Void>> transfers = new ArrayList<>();
+         for (File resource : resources)
+         {
+            if (resource.isDirectory())
+            {
+               String child = addon.getName()
+                        + resource.getParentFile().getParentFile().getName();
+               child = OperatingSystemUtils.getSafeFilename(child);
+               transfers.add(new ResourceTransfer(resource, new File(addonSlotDir, child)));
+            }
+            else
+            {
+               transfers.add(new ResourceTransfer(resource, new File(addonSlotDir, resource.getName())));
+            }
+         }
+         transfer(transfers);
+      }
+      /*
+       * Write out the addon module dependency configuration
+       */
+      Node addonXml = getXmlRoot(descriptor);
+      Node dependenciesNode = addonXml.getOrCreate(DEPENDENCIES_TAG_NAME);
 
-            if (dependencies != null)
+      if (dependencies != null)
+      {
+         for (AddonDependencyEntry dependency : dependencies)
+         {
+            String name = dependency.getName();
+            Node dep = null;
+            for (Node node : dependenciesNode.get(DEPENDENCY_TAG_NAME))
             {
-               for (AddonDependencyEntry dependency : dependencies)
+               if (name.equals(node.getAttribute(ATTR_NAME)))
                {
-                  String name = dependency.getName();
-                  Node dep = null;
-                  for (Node node : dependenciesNode.get(DEPENDENCY_TAG_NAME))
-                  {
-                     if (name.equals(node.getAttribute(ATTR_NAME)))
-                     {
-                        dep = node;
-                        break;
-                     }
-                  }
-                  if (dep == null)
-                  {
-                     dep = dependenciesNode.createChild(DEPENDENCY_TAG_NAME);
-                     dep.attribute(ATTR_NAME, name);
-                  }
-                  dep.attribute(ATTR_VERSION, dependency.getVersionRange());
-                  dep.attribute(ATTR_EXPORT, dependency.isExported());
-                  dep.attribute(ATTR_OPTIONAL, dependency.isOptional());
+                  dep = node;
+                  break;
                }
             }
+            if (dep == null)
+            {
+               dep = dependenciesNode.createChild(DEPENDENCY_TAG_NAME);
+               dep.attribute(ATTR_NAME, name);
+            }
+            dep.attribute(ATTR_VERSION, dependency.getVersionRange());
+            dep.attribute(ATTR_EXPORT, dependency.isExported());
+            dep.attribute(ATTR_OPTIONAL, dependency.isOptional());
+         }
+      }
+
+      dependencyCache.remove(addon);
+      try (FileOutputStream fos = new FileOutputStream(descriptor))
+      {
+         Streams.write(XMLParser.toXMLInputStream(addonXml), fos);
+      }
+      return true;
+   }
 
-            try (FileOutputStream fos = new FileOutputStream(descriptor))
+   /**
+    * Perform the given transfers, in parallel if there is more than one.
+    */
+   private static void transfer(List<Callable<Void>> transfers) throws Exception
+   {
+      if (transfers.size() == 1)
+      {
+         transfers.get(0).call();
+      }
+      else if (transfers.size() > 1)
+      {
+         for (Future<Void> future : TransferPool.INSTANCE.invokeAll(transfers))
+         {
+            try
+            {
+               future.get();
+            }
+            catch (ExecutionException e)
             {
-               Streams.write(XMLParser.toXMLInputStream(addonXml), fos);
+               if (e.getCause() instanceof Exception)
+                  throw (Exception) e.getCause();
+               throw e;
             }
-            return true;
          }
-      });
+      }
    }
 
    @Override
@@ -178,8 +250,15 @@ public final class AddonRepositoryStorageStrategyImpl extends AbstractFileSystem
          @Override
          public Set<AddonDependencyEntry> call() throws Exception
          {
+            CachedDependencies cached = dependencyCache.get(addon);
+            if (cached != null && cached.isCurrent(readAttributes(getAddonDescriptorFile(addon))))
+            {
+               return new LinkedHashSet<>(cached.getDependencies());
+            }
+
             Set<AddonDependencyEntry> result = new LinkedHashSet<AddonDependencyEntry>();
             File descriptor = getAddonDescriptor(addon);
+            BasicFileAttributes attributes = readAttributes(descriptor);
 
             try
             {
@@ -197,6 +276,9 @@ public final class AddonRepositoryStorageStrategyImpl extends AbstractFileSystem
                               Boolean.valueOf(child.getAttribute(ATTR_OPTIONAL))));
                   }
                }
+
+               if (attributes != null)
+                  dependencyCache.put(addon, new CachedDependencies(attributes, result));
             }
             catch (FileNotFoundException e)
             {
@@ -208,6 +290,18 @@ public final class AddonRepositoryStorageStrategyImpl extends AbstractFileSystem
       });
    }
 
+   private static BasicFileAttributes readAttributes(File file)
+   {
+      try
+      {
+         return java.nio.file.Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+      }
+      catch (IOException e)
+      {
+         return null;
+      }
+   }
+
    @Override
    public File getAddonDescriptor(final AddonId addon)
    {
@@ -309,6 +403,7 @@ public final class AddonRepositoryStorageStrategyImpl extends AbstractFileSystem
          @Override
          public Boolean call() throws Exception
          {
+            dependencyCache.remove(addon);
             File dir = getAddonBaseDir(addon);
             return Files.delete(dir, true);
          }
@@ -317,25 +412,117 @@ public final class AddonRepositoryStorageStrategyImpl extends AbstractFileSystem
 
    private Node getXmlRoot(File registryFile) throws FileNotFoundException, InterruptedException
    {
-      Node installed = null;
-
-      while (installed == null)
+      for (int attempt = 1;; attempt++)
       {
          try
          {
-            installed = XMLParser.parse(registryFile);
+            return XMLParser.parse(registryFile);
          }
          catch (XMLParserException e)
          {
-            logger.log(Level.WARNING, "Error occurred while parsing [" + registryFile + "]", e);
+            /*
+             * The descriptor may still be being written by another process, give it some time before giving up.
+             */
+            if (attempt >= DESCRIPTOR_PARSE_ATTEMPTS)
+            {
+               logger.log(Level.WARNING, "Error occurred while parsing [" + registryFile + "]", e);
+               throw e;
+            }
+            logger.log(Level.FINE, "Error occurred while parsing [" + registryFile + "], retrying.", e);
+            Thread.sleep(DESCRIPTOR_PARSE_RETRY_MILLIS * attempt);
          }
       }
-
-      return installed;
    }
 
    @Override
-   public DirtyChecker createDirtyChecker() {
-      return new FileSystemDirtyChecker(addonDir);
+   public DirtyChecker createDirtyChecker()
+   {
+      return new FileSystemDirtyChecker(addonDir)
+      {
+         @Override
+         protected void changesDetected()
+         {
+            dependencyCache.clear();
+         }
+      };
+   }
+
+   /**
+    * The dependencies read from an addon descriptor, along with the attributes of the file they were read from.
+    */
+   private static final class CachedDependencies
+   {
+      private final FileTime lastModified;
+      private final long size;
+      private final Set<AddonDependencyEntry> dependencies;
+
+      CachedDependencies(BasicFileAttributes attributes, Set<AddonDependencyEntry> dependencies)
+      {
+         this.lastModified = attributes.lastModifiedTime();
+         this.size = attributes.size();
+         this.dependencies = Collections.unmodifiableSet(new LinkedHashSet<>(dependencies));
+      }
+
+      boolean isCurrent(BasicFileAttributes attributes)
+      {
+         return attributes != null && attributes.size() == size
+                  && attributes.lastModifiedTime().equals(lastModified);
+      }
+
+      Set<AddonDependencyEntry> getDependencies()
+      {
+         return dependencies;
+      }
+   }
+
+   /**
+    * Places a resource JAR or directory into an addon slot, as a symlink if {@value #DEPLOY_AS_SYMLINK_SYSTEM_PROPERTY}
+    * is set. Otherwise JAR files are hard linked unless {@value #DEPLOY_AS_HARDLINK_SYSTEM_PROPERTY} is
+    * <code>false</code>, falling back to a verified copy, and directories are copied.
+    */
+   private static final class ResourceTransfer implements Callable<Void>
+   {
+      private final File resource;
+      private final File target;
+
+      ResourceTransfer(File resource, File target)
+      {
+         this.resource = resource;
+         this.target = target;
+      }
+
+      @Override
+      public Void call() throws IOException
+      {
+         if (Boolean.getBoolean(DEPLOY_AS_SYMLINK_SYSTEM_PROPERTY))
+         {
+            logger.fine("Creating symlink from " + resource + " to " + target);
+            java.nio.file.Files.createSymbolicLink(target.toPath(), resource.toPath());
+         }
+         else if (resource.isDirectory())
+         {
+            /*
+             * Directories are build output that is rewritten in place, so they must never be hard linked
+             */
+            logger.fine("Copying " + resource + " to " + target);
+            Files.copyDirectory(resource, target);
+         }
+         else
+         {
+            boolean link = resource.getName().endsWith(".jar")
+                     && Boolean.parseBoolean(System.getProperty(DEPLOY_AS_HARDLINK_SYSTEM_PROPERTY, "true"));
+            logger.fine((link ? "Linking or copying " : "Copying ") + resource + " to " + target);
+            Files.linkOrCopyFile(resource, target, link);
+         }
+         return null;
+      }
+   }
+
+   /**
+    * Shared by all repositories, since deployments are I/O bound.
+    */
+   private static final class TransferPool
+   {
+      static final ForkJoinPool INSTANCE = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
    }
 }
@@ -7,6 +7,8 @@
 package org.jboss.forge.furnace.impl.addons;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
@@ -133,23 +135,41 @@ public final class AddonRunnable implements Runnable
    private void firePostStartup(final AddonLifecycleProvider lifecycleProvider) throws Exception
    {
       // Wait until all dependencies are started
+      long waitStart = System.currentTimeMillis();
       for (AddonDependency dependency : addon.getDependencies())
       {
          if (dependency.getDependency().getStatus().isLoaded())
             Addons.waitUntilStarted(dependency.getDependency());
       }
+      lifecycleManager.getStartupExecutor().blockedOnDependencies(addon, System.currentTimeMillis() - waitStart);
       // Fire PostStartup event to this addon
       lifecycleProvider.postStartup(addon);
 
       // Fire PostStartup event to other addons
       PostStartup postStartup = new PostStartup(addon);
+      for (Addon a : getObservers(PostStartup.class))
+      {
+         a.getEventManager().fireEvent(postStartup);
+      }
+   }
+
+   /**
+    * Return the other {@link Addon} instances, in all {@link AddonView} instances of this {@link Addon}, that observe
+    * events of the given type. Each {@link Addon} is returned once, even if it belongs to several views.
+    */
+   private List<Addon> getObservers(Class<?> eventType)
+   {
+      List<Addon> result = new ArrayList<Addon>();
+      Set<Addon> seen = Collections.newSetFromMap(new IdentityHashMap<Addon, Boolean>());
       for (AddonView view : stateManager.getViewsOf(addon))
       {
-         for (Addon a : view.getAddons(notThisAddonFilter))
+         for (Addon a : lifecycleManager.getObservers(view, eventType))
          {
-            a.getEventManager().fireEvent(postStartup);
+            if (notThisAddonFilter.accept(a) && seen.add(a))
+               result.add(a);
          }
       }
+      return result;
    }
 
    public void shutdown()
@@ -171,19 +191,17 @@ public final class AddonRunnable implements Runnable
                {
                   try
                   {
-                     for (AddonView view : stateManager.getViewsOf(addon))
+                     PreShutdown preShutdown = new PreShutdown(addon);
+                     for (Addon a : getObservers(PreShutdown.class))
                      {
-                        for (Addon a : view.getAddons(notThisAddonFilter))
+                        try
+                        {
+                           a.getEventManager().fireEvent(preShutdown);
+                        }
+                        catch (Throwable t)
                         {
-                           try
-                           {
-                              a.getEventManager().fireEvent(new PreShutdown(addon));
-                           }
-                           catch (Throwable t)
-                           {
-                              logger.log(Level.FINE, "Failed to execute pre-shutdown task for [" + addon
-                                       + "] in event manager from " + a.getId(), t);
-                           }
+                           logger.log(Level.FINE, "Failed to execute pre-shutdown task for [" + addon
+                                    + "] in event manager from " + a.getId(), t);
                         }
                      }
                      lifecycleProvider.preShutdown(addon);
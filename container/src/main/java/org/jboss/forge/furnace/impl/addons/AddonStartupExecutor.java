@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.impl.addons;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.forge.furnace.addons.Addon;
+import org.jboss.forge.furnace.addons.AddonId;
+
+/**
+ * Runs {@link AddonRunnable} instances on a bounded pool of threads. An {@link Addon} is only handed to the pool once
+ * all of its dependencies that were scheduled before it have finished starting, so that worker threads do not block
+ * waiting for each other.
+ * <p>
+ * The pool size defaults to the number of available processors (at least two), and can be set with the
+ * {@value #THREADS_PROPERTY} system property. If {@value #VIRTUAL_THREADS_PROPERTY} is set and the JVM supports it,
+ * every {@link Addon} is started on its own virtual thread instead.
+ */
+public class AddonStartupExecutor
+{
+   public static final String THREADS_PROPERTY = "furnace.addons.startup.threads";
+   public static final String VIRTUAL_THREADS_PROPERTY = "furnace.addons.startup.virtualThreads";
+
+   private static final Logger logger = Logger.getLogger(AddonStartupExecutor.class.getName());
+
+   private final AddonStateManager stateManager;
+   private final ExecutorService executor;
+   private final ThreadPoolExecutor pool;
+
+   private final Map<Addon, StartupTask> scheduled = new IdentityHashMap<>();
+   private final List<StartupTask> pending = new ArrayList<>();
+
+   private final Map<AddonId, Long> startLatencies = new ConcurrentHashMap<>();
+   private final Map<AddonId, Long> blockedWaits = new ConcurrentHashMap<>();
+   private final AtomicLong blockedWaitTotal = new AtomicLong();
+
+   public AddonStartupExecutor(AddonStateManager stateManager)
+   {
+      this.stateManager = stateManager;
+
+      ExecutorService virtual = null;
+      if (Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY))
+         virtual = createVirtualThreadExecutor();
+
+      if (virtual != null)
+      {
+         this.pool = null;
+         this.executor = virtual;
+      }
+      else
+      {
+         int threads = Integer.getInteger(THREADS_PROPERTY, Math.max(2, Runtime.getRuntime().availableProcessors()));
+         this.pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                  new LinkedBlockingQueue<Runnable>());
+         this.pool.allowCoreThreadTimeOut(true);
+         this.executor = pool;
+      }
+   }
+
+   private static ExecutorService createVirtualThreadExecutor()
+   {
+      try
+      {
+         return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      }
+      catch (Exception e)
+      {
+         logger.log(Level.WARNING, "Virtual threads are not supported by this JVM, falling back to a bounded pool.", e);
+         return null;
+      }
+   }
+
+   /**
+    * Create the {@link FutureTask} that will start the given {@link Addon}. The task is not executed until it is passed
+    * to {@link #schedule(FutureTask, List)}.
+    */
+   public FutureTask<Void> createTask(Addon addon, AddonRunnable runnable)
+   {
+      return new StartupTask(addon, runnable);
+   }
+
+   /**
+    * Execute the given task, created by {@link #createTask(Addon, AddonRunnable)}, as soon as those of the given
+    * dependencies that are currently starting have finished.
+    */
+   public synchronized void schedule(FutureTask<Void> task, List<Addon> dependencies)
+   {
+      if (isShutdown())
+         throw new IllegalStateException("Cannot start additional addons once Shutdown has been initiated.");
+
+      StartupTask startupTask = (StartupTask) task;
+      for (Addon dependency : dependencies)
+      {
+         StartupTask blocker = scheduled.get(dependency);
+         if (blocker != null && blocker != startupTask)
+            startupTask.blockers.add(blocker);
+      }
+
+      startupTask.scheduled = System.nanoTime();
+      scheduled.put(startupTask.addon, startupTask);
+      if (startupTask.blockers.isEmpty())
+         executor.execute(startupTask);
+      else
+         pending.add(startupTask);
+   }
+
+   private synchronized void finished(StartupTask task)
+   {
+      if (scheduled.get(task.addon) == task)
+         scheduled.remove(task.addon);
+      pending.remove(task);
+
+      if (task.scheduled != 0)
+         startLatencies.put(task.addon.getId(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.scheduled));
+
+      Iterator<StartupTask> iterator = pending.iterator();
+      while (iterator.hasNext())
+      {
+         StartupTask waiting = iterator.next();
+         waiting.blockers.remove(task);
+         if (waiting.blockers.isEmpty() && !executor.isShutdown())
+         {
+            iterator.remove();
+            executor.execute(waiting);
+         }
+      }
+   }
+
+   /**
+    * Record the time an {@link AddonRunnable} spent blocked waiting for the given {@link Addon} dependencies to start.
+    */
+   void blockedOnDependencies(Addon addon, long millis)
+   {
+      if (millis > 0)
+      {
+         blockedWaits.put(addon.getId(), millis);
+         blockedWaitTotal.addAndGet(millis);
+      }
+   }
+
+   /**
+    * Returns the number of {@link Addon} instances waiting for their dependencies or for a free thread.
+    */
+   public synchronized int getQueueDepth()
+   {
+      return pending.size() + (pool == null ? 0 : pool.getQueue().size());
+   }
+
+   /**
+    * Returns the time in milliseconds each {@link Addon} took from being scheduled until it finished starting.
+    */
+   public Map<AddonId, Long> getStartLatencies()
+   {
+      return Collections.unmodifiableMap(new HashMap<>(startLatencies));
+   }
+
+   /**
+    * Returns the time in milliseconds each {@link Addon} spent blocked in a worker thread waiting for its dependencies.
+    */
+   public Map<AddonId, Long> getBlockedWaitTimes()
+   {
+      return Collections.unmodifiableMap(new HashMap<>(blockedWaits));
+   }
+
+   /**
+    * Returns the total time in milliseconds worker threads spent blocked waiting for dependencies.
+    */
+   public long getBlockedWaitTime()
+   {
+      return blockedWaitTotal.get();
+   }
+
+   public boolean isShutdown()
+   {
+      return executor.isShutdown();
+   }
+
+   /**
+    * Stop executing {@link Addon} startups. Returns the tasks that were never started.
+    */
+   public synchronized List<Runnable> shutdownNow()
+   {
+      List<Runnable> result = new ArrayList<Runnable>(pending);
+      pending.clear();
+      scheduled.clear();
+      result.addAll(executor.shutdownNow());
+      return result;
+   }
+
+   private class StartupTask extends FutureTask<Void>
+   {
+      private final Addon addon;
+      private final List<StartupTask> blockers = new ArrayList<>();
+      private long scheduled;
+
+      public StartupTask(Addon addon, AddonRunnable runnable)
+      {
+         super(runnable, null);
+         this.addon = addon;
+      }
+
+      @Override
+      protected void done()
+      {
+         finished(this);
+         stateManager.finishedStarting(addon);
+      }
+
+      @Override
+      public String toString()
+      {
+         return addon.toString();
+      }
+   }
+}
@@ -11,44 +11,107 @@ import java.util.Set;
 import java.util.concurrent.Future;
 
 import org.jboss.forge.furnace.addons.AddonDependency;
+import org.jboss.forge.furnace.addons.AddonStatus;
 import org.jboss.forge.furnace.event.EventManager;
 import org.jboss.forge.furnace.impl.event.NullEventManager;
+import org.jboss.forge.furnace.impl.util.ExceptionFuture;
 import org.jboss.forge.furnace.impl.util.NullFuture;
 import org.jboss.forge.furnace.repositories.AddonRepository;
 import org.jboss.forge.furnace.spi.ServiceRegistry;
 import org.jboss.forge.furnace.util.Assert;
 
+/**
+ * Immutable state of an {@link org.jboss.forge.furnace.addons.Addon}. The {@link AddonStatus} is computed once, when the
+ * state is created, so that it can be read without a lock; use {@link #refresh()} once the {@link Future} completes.
+ */
 public class AddonState
 {
-   private Future<Void> future = new NullFuture<>(null);
-   private Set<AddonDependency> dependencies = new LinkedHashSet<>();
-   private Set<AddonDependency> missingDependencies = new LinkedHashSet<>();
-   private AddonRepository repository;
-   private ServiceRegistry registry = NullServiceRegistry.INSTANCE;
-   private EventManager eventManager = NullEventManager.INSTANCE;
-   private AddonRunnable runnable;
-   private ClassLoader loader;
+   private final Future<Void> future;
+   private final Set<AddonDependency> dependencies;
+   private final Set<AddonDependency> missingDependencies;
+   private final AddonRepository repository;
+   private final ServiceRegistry registry;
+   private final EventManager eventManager;
+   private final AddonRunnable runnable;
+   private final ClassLoader loader;
+   private final AddonStatus status;
 
    public AddonState(Set<AddonDependency> dependencies, AddonRepository repository,
             ClassLoader loader)
    {
+      this(new NullFuture<Void>(null), dependencies, new LinkedHashSet<AddonDependency>(), repository,
+               NullServiceRegistry.INSTANCE, NullEventManager.INSTANCE, null, loader);
       Assert.notNull(dependencies, "Addon dependency set must not be null.");
       Assert.notNull(repository, "Addon repository must not be null.");
       Assert.notNull(loader, "Addon ClassLoader must not be null.");
+   }
+
+   public AddonState(Set<AddonDependency> missingDependencies)
+   {
+      this(new NullFuture<Void>(null), new LinkedHashSet<AddonDependency>(), missingDependencies, null,
+               NullServiceRegistry.INSTANCE, NullEventManager.INSTANCE, null, null);
+      Assert.notNull(missingDependencies, "Missing dependency set must not be null.");
+   }
+
+   public AddonState()
+   {
+      this(new NullFuture<Void>(null), new LinkedHashSet<AddonDependency>(), new LinkedHashSet<AddonDependency>(),
+               null, NullServiceRegistry.INSTANCE, NullEventManager.INSTANCE, null, null);
+   }
 
+   private AddonState(Future<Void> future, Set<AddonDependency> dependencies,
+            Set<AddonDependency> missingDependencies, AddonRepository repository, ServiceRegistry registry,
+            EventManager eventManager, AddonRunnable runnable, ClassLoader loader)
+   {
+      this.future = future;
       this.dependencies = dependencies;
+      this.missingDependencies = missingDependencies;
       this.repository = repository;
+      this.registry = registry;
+      this.eventManager = eventManager;
+      this.runnable = runnable;
       this.loader = loader;
+      this.status = computeStatus();
    }
 
-   public AddonState(Set<AddonDependency> missingDependencies)
+   private AddonStatus computeStatus()
    {
-      Assert.notNull(missingDependencies, "Missing dependency set must not be null.");
-      this.missingDependencies = missingDependencies;
+      AddonStatus result = AddonStatus.NEW;
+      if (loader != null)
+         result = AddonStatus.LOADED;
+
+      if (missingDependencies != null && missingDependencies.size() > 0)
+         result = AddonStatus.MISSING;
+
+      if (future != null && !(future instanceof NullFuture))
+      {
+         if (future.isDone())
+            result = AddonStatus.STARTED;
+
+         if (future instanceof ExceptionFuture || future.isCancelled())
+            result = AddonStatus.FAILED;
+      }
+      return result;
    }
 
-   public AddonState()
+   /**
+    * Returns the {@link AddonStatus} computed when this state was created.
+    */
+   public AddonStatus getStatus()
+   {
+      return status;
+   }
+
+   /**
+    * Returns this state, or a copy of it if its {@link AddonStatus} has changed since it was created (for instance
+    * because its {@link Future} has completed).
+    */
+   public AddonState refresh()
    {
+      if (computeStatus() == status)
+         return this;
+      return new AddonState(future, dependencies, missingDependencies, repository, registry, eventManager, runnable,
+               loader);
    }
 
    public ClassLoader getClassLoader()
@@ -76,11 +139,6 @@ public class AddonState
       return future;
    }
 
-   public void setFuture(Future<Void> future)
-   {
-      this.future = future;
-   }
-
    public AddonRepository getRepository()
    {
       return repository;
@@ -91,24 +149,36 @@ public class AddonState
       return runnable;
    }
 
-   public void setRunnable(AddonRunnable runnable)
+   public ServiceRegistry getServiceRegistry()
    {
-      this.runnable = runnable;
+      return registry;
    }
 
-   public ServiceRegistry getServiceRegistry()
+   /**
+    * Returns a copy of this state with the given {@link Future} and {@link AddonRunnable}.
+    */
+   public AddonState withHandles(Future<Void> future, AddonRunnable runnable)
    {
-      return registry;
+      return new AddonState(future, dependencies, missingDependencies, repository, registry, eventManager, runnable,
+               loader);
    }
 
-   public void setServiceRegistry(ServiceRegistry registry)
+   /**
+    * Returns a copy of this state with the given {@link ServiceRegistry}.
+    */
+   public AddonState withServiceRegistry(ServiceRegistry registry)
    {
-      this.registry = (registry != null ? registry : NullServiceRegistry.INSTANCE);
+      return new AddonState(future, dependencies, missingDependencies, repository,
+               registry != null ? registry : NullServiceRegistry.INSTANCE, eventManager, runnable, loader);
    }
 
-   public void setEventManager(EventManager manager)
+   /**
+    * Returns a copy of this state with the given {@link EventManager}.
+    */
+   public AddonState withEventManager(EventManager manager)
    {
-      this.eventManager = (manager != null ? manager : NullEventManager.INSTANCE);
+      return new AddonState(future, dependencies, missingDependencies, repository, registry,
+               manager != null ? manager : NullEventManager.INSTANCE, runnable, loader);
    }
 
 }
@@ -9,17 +9,23 @@ package org.jboss.forge.furnace.impl.addons;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.forge.furnace.addons.Addon;
 import org.jboss.forge.furnace.addons.AddonDependency;
 import org.jboss.forge.furnace.addons.AddonId;
+import org.jboss.forge.furnace.addons.AddonStatus;
 import org.jboss.forge.furnace.addons.AddonView;
 import org.jboss.forge.furnace.event.EventManager;
+import org.jboss.forge.furnace.exception.ContainerException;
 import org.jboss.forge.furnace.impl.graph.AddonVertex;
 import org.jboss.forge.furnace.impl.graph.MasterGraph;
 import org.jboss.forge.furnace.impl.modules.AddonModuleLoader;
@@ -39,18 +45,46 @@ public class AddonStateManager
     * {@link AddonView}.
     */
    private final Map<Addon, AddonState> states = new IdentityHashMap<Addon, AddonState>();
+   private final ExportedTypeIndex exportedTypes = new ExportedTypeIndex();
+   private final Map<Addon, CompletableFuture<Addon>> startups = new IdentityHashMap<Addon, CompletableFuture<Addon>>();
+   private final AtomicLong eventManagerGeneration = new AtomicLong();
+   private final StatusMonitor[] statusMonitors = new StatusMonitor[16];
    private AddonModuleLoader loader;
 
    public AddonStateManager(LockManager lock)
    {
       this.lock = lock;
+      for (int i = 0; i < statusMonitors.length; i++)
+      {
+         statusMonitors[i] = new StatusMonitor();
+      }
    }
 
    public void dispose()
    {
       this.graph = null;
+      for (Addon addon : states.keySet())
+      {
+         publish(addon, new AddonState());
+      }
       this.states.clear();
+      this.exportedTypes.clear();
       this.loader = null;
+
+      synchronized (startups)
+      {
+         for (Entry<Addon, CompletableFuture<Addon>> entry : startups.entrySet())
+         {
+            entry.getValue().completeExceptionally(
+                     new ContainerException("Furnace was stopped before [" + entry.getKey() + "] started."));
+         }
+         startups.clear();
+      }
+
+      for (StatusMonitor monitor : statusMonitors)
+      {
+         monitor.changed();
+      }
    }
 
    public void setModuleLoader(AddonModuleLoader loader)
@@ -106,6 +140,122 @@ public class AddonStateManager
       return getState(addon).getServiceRegistry();
    }
 
+   /**
+    * Return the {@link Addon} instances whose {@link ServiceRegistry} exports a type with the given name, or a sub-type
+    * thereof. Does not obtain a lock.
+    */
+   public List<Addon> getServiceProvidersOf(String typeName)
+   {
+      return exportedTypes.getProviders(typeName);
+   }
+
+   /**
+    * Returns a counter that is incremented whenever the {@link EventManager} of any {@link Addon} may have changed.
+    */
+   public long getEventManagerGeneration()
+   {
+      return eventManagerGeneration.get();
+   }
+
+   /**
+    * Return a {@link CompletableFuture} that completes with the given {@link Addon} once it has started, or
+    * exceptionally if it fails to start. Does not obtain a lock.
+    */
+   public CompletableFuture<Addon> getStartupOf(Addon addon)
+   {
+      CompletableFuture<Addon> result;
+      synchronized (startups)
+      {
+         result = startups.get(addon);
+         if (result == null)
+         {
+            result = new CompletableFuture<Addon>();
+            startups.put(addon, result);
+         }
+      }
+      finishedStarting(addon);
+      return result;
+   }
+
+   /**
+    * Complete the {@link CompletableFuture} returned by {@link #getStartupOf(Addon)} for the given {@link Addon}, if it
+    * has started or failed to start.
+    */
+   void finishedStarting(Addon addon)
+   {
+      if (addon instanceof AddonImpl)
+         ((AddonImpl) addon).refreshStatus();
+      statusChanged(addon);
+
+      AddonStatus status = addon.getStatus();
+      if (status.isStarted() || status.isFailed())
+      {
+         CompletableFuture<Addon> startup;
+         synchronized (startups)
+         {
+            startup = startups.remove(addon);
+         }
+
+         if (startup != null)
+         {
+            if (status.isStarted())
+               startup.complete(addon);
+            else
+               startup.completeExceptionally(new ContainerException("Addon [" + addon + "] failed to start."));
+         }
+      }
+   }
+
+   /**
+    * Returns a counter that changes whenever the {@link AddonStatus} of the given {@link Addon} may have changed.
+    */
+   public long getStatusVersion(Addon addon)
+   {
+      return getStatusMonitor(addon).getVersion();
+   }
+
+   /**
+    * Wait until the counter returned by {@link #getStatusVersion(Addon)} differs from the given version, or the given
+    * timeout expires. A negative timeout waits indefinitely. Waiters are woken when the state of an {@link Addon}
+    * changes, rather than polling.
+    * 
+    * @return <code>false</code> if the timeout expired, otherwise <code>true</code>
+    */
+   public boolean awaitStatusChange(Addon addon, long version, long timeout, TimeUnit unit)
+            throws InterruptedException
+   {
+      StatusMonitor monitor = getStatusMonitor(addon);
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      synchronized (monitor)
+      {
+         while (monitor.version == version)
+         {
+            if (timeout < 0)
+            {
+               monitor.wait();
+            }
+            else
+            {
+               long remaining = deadline - System.nanoTime();
+               if (remaining <= 0)
+                  return false;
+               TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+            }
+         }
+      }
+      return true;
+   }
+
+   private void statusChanged(Addon addon)
+   {
+      getStatusMonitor(addon).changed();
+   }
+
+   private StatusMonitor getStatusMonitor(Addon addon)
+   {
+      return statusMonitors[(System.identityHashCode(addon) & Integer.MAX_VALUE) % statusMonitors.length];
+   }
+
    /**
     * Return an {@link Addon} compatible with the given {@link AddonView}, if it is already registered (this occurs when
     * {@link AddonView} instances share {@link Addon} sub-graphs.
@@ -117,7 +267,7 @@ public class AddonStateManager
          @Override
          public Addon call() throws Exception
          {
-            for (AddonVertex vertex : getCurrentGraph().getGraph().vertexSet())
+            for (AddonVertex vertex : getCurrentGraph().getVertices(id.getName()))
             {
                if (vertex.getAddonId().equals(id) && vertex.getViews().contains(view))
                {
@@ -137,7 +287,7 @@ public class AddonStateManager
          public Set<AddonView> call() throws Exception
          {
             Set<AddonView> result = new HashSet<AddonView>();
-            for (AddonVertex vertex : getCurrentGraph().getGraph().vertexSet())
+            for (AddonVertex vertex : getCurrentGraph().getVertices(addon.getId().getName()))
             {
                if (addon.equals(vertex.getAddon()))
                {
@@ -173,9 +323,27 @@ public class AddonStateManager
          public Void call() throws Exception
          {
             states.put(addon, state);
+            publish(addon, state);
+            eventManagerGeneration.incrementAndGet();
             return null;
          }
       });
+      statusChanged(addon);
+   }
+
+   /**
+    * Replace the {@link AddonState} of the given {@link Addon}. Must be called while holding the WRITE lock.
+    */
+   private void update(Addon addon, AddonState state)
+   {
+      states.put(addon, state);
+      publish(addon, state);
+   }
+
+   private void publish(Addon addon, AddonState state)
+   {
+      if (addon instanceof AddonImpl)
+         ((AddonImpl) addon).setState(state);
    }
 
    public MasterGraph getCurrentGraph()
@@ -275,9 +443,13 @@ public class AddonStateManager
          public Void call() throws Exception
          {
             states.remove(addon);
+            publish(addon, new AddonState());
+            exportedTypes.unregister(addon);
+            eventManagerGeneration.incrementAndGet();
             return null;
          }
       });
+      statusChanged(addon);
    }
 
    public boolean canBeStarted(Addon addon)
@@ -293,11 +465,13 @@ public class AddonStateManager
          @Override
          public Void call() throws Exception
          {
-            getState(addon).setFuture(result);
-            getState(addon).setRunnable(runnable);
+            AddonState state = states.get(addon);
+            if (state != null)
+               update(addon, state.withHandles(result, runnable));
             return null;
          }
       });
+      statusChanged(addon);
    }
 
    public void setEventManager(final Addon addon, final EventManager manager)
@@ -307,7 +481,10 @@ public class AddonStateManager
          @Override
          public Void call() throws Exception
          {
-            getState(addon).setEventManager(manager);
+            AddonState state = states.get(addon);
+            if (state != null)
+               update(addon, state.withEventManager(manager));
+            eventManagerGeneration.incrementAndGet();
             return null;
          }
       });
@@ -320,7 +497,13 @@ public class AddonStateManager
          @Override
          public Void call() throws Exception
          {
-            getState(addon).setServiceRegistry(registry);
+            AddonState state = states.get(addon);
+            if (state != null)
+               update(addon, state.withServiceRegistry(registry));
+            if (registry == null)
+               exportedTypes.unregister(addon);
+            else
+               exportedTypes.register(addon, registry);
             return null;
          }
       });
@@ -342,4 +525,25 @@ public class AddonStateManager
 
       return builder.toString();
    }
+
+   /**
+    * Wakes threads waiting in {@link AddonStateManager#awaitStatusChange(Addon, long, long, TimeUnit)}. {@link Addon}
+    * instances are spread over a fixed number of monitors, so that a change only wakes the waiters of a fraction of all
+    * {@link Addon} instances.
+    */
+   private static class StatusMonitor
+   {
+      private long version;
+
+      synchronized long getVersion()
+      {
+         return version;
+      }
+
+      synchronized void changed()
+      {
+         version++;
+         notifyAll();
+      }
+   }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.impl.addons;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.forge.furnace.addons.Addon;
+import org.jboss.forge.furnace.addons.AddonId;
+import org.jboss.forge.furnace.addons.AddonView;
+
+/**
+ * Immutable snapshot of the {@link Addon} instances registered in an {@link AddonView}. Snapshots are published
+ * atomically by the {@link AddonLifecycleManager} once a graph change has been applied, so that read operations never
+ * need to obtain a lock.
+ */
+final class AddonViewSnapshot
+{
+   static final AddonViewSnapshot EMPTY = new AddonViewSnapshot(0, Collections.<Addon> emptySet());
+
+   private final long generation;
+   private final Set<Addon> addons;
+   private final Set<Addon> members;
+   private final Map<AddonId, Addon> index;
+
+   AddonViewSnapshot(long generation, Set<Addon> addons)
+   {
+      this.generation = generation;
+      this.addons = Collections.unmodifiableSet(new LinkedHashSet<>(addons));
+      this.members = Collections.newSetFromMap(new IdentityHashMap<Addon, Boolean>());
+      this.members.addAll(addons);
+      this.index = new HashMap<>();
+      for (Addon addon : this.addons)
+      {
+         if (!index.containsKey(addon.getId()))
+            index.put(addon.getId(), addon);
+      }
+   }
+
+   /**
+    * The generation in which this snapshot was published. Increases monotonically across publications.
+    */
+   long getGeneration()
+   {
+      return generation;
+   }
+
+   /**
+    * The unmodifiable {@link Set} of {@link Addon} instances in this snapshot.
+    */
+   Set<Addon> getAddons()
+   {
+      return addons;
+   }
+
+   /**
+    * Returns the {@link Addon} in this snapshot with the given {@link AddonId}, or <code>null</code> if there is none.
+    */
+   Addon getAddon(AddonId id)
+   {
+      return index.get(id);
+   }
+
+   /**
+    * Returns <code>true</code> if this snapshot contains the given {@link Addon} instance, compared by identity.
+    */
+   boolean contains(Addon addon)
+   {
+      return members.contains(addon);
+   }
+}
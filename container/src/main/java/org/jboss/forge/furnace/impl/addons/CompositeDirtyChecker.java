@@ -44,6 +44,17 @@ public class CompositeDirtyChecker implements DirtyChecker
         }
     }
 
+    @Override
+    public boolean setChangeListener(Runnable listener)
+    {
+        boolean notifying = true;
+        for (DirtyChecker dirtyChecker : dirtyCheckers)
+        {
+            notifying &= dirtyChecker.setChangeListener(listener);
+        }
+        return notifying;
+    }
+
     @Override
     public void close() throws Exception
     {
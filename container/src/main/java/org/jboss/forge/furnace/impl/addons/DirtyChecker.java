@@ -20,6 +20,16 @@ public interface DirtyChecker extends AutoCloseable
     {
     }
 
+    /**
+     * Register a listener to be invoked whenever this {@link DirtyChecker} may have become dirty. Returns
+     * <code>true</code> if this {@link DirtyChecker} actively notifies the listener of every change; returns
+     * <code>false</code> if changes can only be detected by calling {@link #isDirty()}.
+     */
+    default boolean setChangeListener(Runnable listener)
+    {
+        return false;
+    }
+
     @Override
     default void close() throws Exception
     {
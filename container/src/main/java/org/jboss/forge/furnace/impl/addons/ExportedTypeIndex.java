@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.impl.addons;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.forge.furnace.addons.Addon;
+import org.jboss.forge.furnace.spi.ServiceRegistry;
+
+/**
+ * Index from the name of every exported service type, and of each of its super-types, to the started {@link Addon}
+ * instances whose {@link ServiceRegistry} exports it. Updated as addons start and stop, so that service lookups only
+ * consult the {@link ServiceRegistry} of the addons that can satisfy them.
+ * <p>
+ * {@link Addon} instances are compared by identity, because each {@link org.jboss.forge.furnace.addons.AddonView} may
+ * hold its own copy of an {@link Addon}. Reads never block: each entry is an immutable {@link List} replaced on write.
+ */
+final class ExportedTypeIndex
+{
+   private final Map<String, List<Addon>> providers = new ConcurrentHashMap<>();
+   private final Map<Addon, Set<String>> typeNames = new IdentityHashMap<>();
+
+   /**
+    * Index the types exported by the given {@link ServiceRegistry} as provided by the given {@link Addon}, replacing any
+    * previous registration of that {@link Addon}.
+    */
+   synchronized void register(Addon addon, ServiceRegistry registry)
+   {
+      unregister(addon);
+
+      Set<String> names = new LinkedHashSet<>();
+      for (Class<?> type : registry.getExportedTypes())
+      {
+         collectTypeNames(type, names);
+      }
+
+      for (String name : names)
+      {
+         List<Addon> current = providers.get(name);
+         List<Addon> updated = new ArrayList<>(current == null ? 1 : current.size() + 1);
+         if (current != null)
+            updated.addAll(current);
+         updated.add(addon);
+         providers.put(name, Collections.unmodifiableList(updated));
+      }
+      typeNames.put(addon, names);
+   }
+
+   /**
+    * Remove the given {@link Addon} from this index.
+    */
+   synchronized void unregister(Addon addon)
+   {
+      Set<String> names = typeNames.remove(addon);
+      if (names != null)
+      {
+         for (String name : names)
+         {
+            List<Addon> current = providers.get(name);
+            if (current != null)
+            {
+               List<Addon> updated = new ArrayList<>(current.size());
+               for (Addon provider : current)
+               {
+                  if (provider != addon)
+                     updated.add(provider);
+               }
+
+               if (updated.isEmpty())
+                  providers.remove(name);
+               else
+                  providers.put(name, Collections.unmodifiableList(updated));
+            }
+         }
+      }
+   }
+
+   /**
+    * Returns the immutable {@link List} of {@link Addon} instances exporting a type with the given name, or a
+    * super-type thereof, in the order in which they were registered.
+    */
+   List<Addon> getProviders(String typeName)
+   {
+      List<Addon> result = providers.get(typeName);
+      return result == null ? Collections.<Addon> emptyList() : result;
+   }
+
+   synchronized void clear()
+   {
+      providers.clear();
+      typeNames.clear();
+   }
+
+   private static void collectTypeNames(Class<?> type, Set<String> names)
+   {
+      if (type != null && names.add(type.getName()))
+      {
+         collectTypeNames(type.getSuperclass(), names);
+         for (Class<?> iface : type.getInterfaces())
+         {
+            collectTypeNames(iface, names);
+         }
+      }
+   }
+}
@@ -10,11 +10,13 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * File system based dirty checker.
+ * File system based dirty checker. Once a change listener is registered, the {@link WatchService} is drained by a
+ * dedicated daemon thread that blocks until the file system reports a change, so no polling is required.
  *
  * @author <a href="mailto:bsideup@gmail.com">Sergei Egorov</a>
  */
@@ -24,8 +26,14 @@ public class FileSystemDirtyChecker extends LazyDirtyChecker
 
     private final File directory;
 
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    private volatile Runnable listener;
+
     private WatchService watcher;
 
+    private Thread watcherThread;
+
     public FileSystemDirtyChecker(File directory)
     {
         this.directory = directory;
@@ -68,6 +76,52 @@ public class FileSystemDirtyChecker extends LazyDirtyChecker
         }
     }
 
+    @Override
+    public synchronized boolean setChangeListener(Runnable listener)
+    {
+        this.listener = listener;
+        ensureInitialized();
+        if (watcher == null)
+        {
+            return false;
+        }
+
+        if (watcherThread == null)
+        {
+            watcherThread = new Thread(this::watch, "Furnace Repository Watcher [" + directory + "]");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+        }
+        return true;
+    }
+
+    private void watch()
+    {
+        try
+        {
+            while (true)
+            {
+                WatchKey key = watcher.take();
+                if (drain(key))
+                {
+                    dirty.set(true);
+                    changesDetected();
+                    Runnable listener = this.listener;
+                    if (listener != null)
+                        listener.run();
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ClosedWatchServiceException e)
+        {
+            // closed, stop watching
+        }
+    }
+
     @Override
     protected boolean isDirtyInternal()
     {
@@ -76,27 +130,54 @@ public class FileSystemDirtyChecker extends LazyDirtyChecker
             return false;
         }
 
-        boolean dirty = false;
-        WatchKey key = watcher.poll();
-        while (key != null)
+        if (watcherThread == null)
         {
-            List<WatchEvent<?>> events = key.pollEvents();
-            if (!events.isEmpty())
+            WatchKey key = watcher.poll();
+            while (key != null)
             {
-                logger.log(Level.FINE, "Detected changes in repository ["
-                        + events.iterator().next().context()
-                        + "].");
-                dirty = true;
+                if (drain(key))
+                {
+                    dirty.set(true);
+                    changesDetected();
+                }
+                key = watcher.poll();
             }
-            key = watcher.poll();
         }
 
-        return dirty;
+        return dirty.get();
+    }
+
+    /**
+     * Called whenever changes are detected in the monitored directory, before any change listener is notified.
+     */
+    protected void changesDetected()
+    {
+    }
+
+    @Override
+    public void resetDirtyStatus()
+    {
+        dirty.set(false);
+    }
+
+    private boolean drain(WatchKey key)
+    {
+        List<WatchEvent<?>> events = key.pollEvents();
+        key.reset();
+        if (!events.isEmpty())
+        {
+            logger.log(Level.FINE, "Detected changes in repository ["
+                    + events.iterator().next().context()
+                    + "].");
+            return true;
+        }
+        return false;
     }
 
     @Override
     public void close() throws Exception
     {
+        this.listener = null;
         if (watcher != null)
         {
             watcher.close();
@@ -24,7 +24,7 @@ import org.jboss.forge.furnace.versions.Version;
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  *
  */
-public class ImmutableAddonRepository implements AddonRepository
+public class ImmutableAddonRepository implements AddonRepository, DirtyCheckableRepository
 {
    private AddonRepository delegate;
 
@@ -105,6 +105,14 @@ public class ImmutableAddonRepository implements AddonRepository
       return delegate.getVersion();
    }
 
+   @Override
+   public DirtyChecker createDirtyChecker()
+   {
+      if (delegate instanceof DirtyCheckableRepository)
+         return ((DirtyCheckableRepository) delegate).createDirtyChecker();
+      return new VersionDirtyChecker(delegate::getVersion);
+   }
+
    @Override
    public String toString()
    {
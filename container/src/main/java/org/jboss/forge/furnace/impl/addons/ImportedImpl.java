@@ -7,85 +7,71 @@
 package org.jboss.forge.furnace.impl.addons;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.WeakHashMap;
-import java.util.concurrent.Callable;
 
 import org.jboss.forge.furnace.addons.Addon;
 import org.jboss.forge.furnace.addons.AddonRegistry;
 import org.jboss.forge.furnace.exception.ContainerException;
-import org.jboss.forge.furnace.lock.LockManager;
-import org.jboss.forge.furnace.lock.LockMode;
+import org.jboss.forge.furnace.impl.util.WeakIdentityMap;
 import org.jboss.forge.furnace.services.Imported;
 import org.jboss.forge.furnace.spi.ExportedInstance;
 import org.jboss.forge.furnace.spi.ServiceRegistry;
 import org.jboss.forge.furnace.util.Assert;
-import org.jboss.forge.furnace.util.Sets;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
 public class ImportedImpl<T> implements Imported<T>
 {
-   private final Map<T, ExportedInstance<T>> instanceMap = Collections.synchronizedMap(new WeakHashMap<>());
+   private final WeakIdentityMap<T, ExportedInstance<T>> instanceMap = new WeakIdentityMap<>();
 
-   private final AddonRegistry addonRegistry;
-   private final LockManager lock;
+   private final AddonRegistryImpl addonRegistry;
    private Class<T> type;
    private final String typeName;
 
-   private final Set<ExportedInstance<T>> instanceCache = Sets.getConcurrentSet();
-   private long version = -1;
+   @SuppressWarnings("unchecked")
+   private volatile InstanceCache<T> instanceCache = new InstanceCache<>(-1, new ExportedInstance[0]);
 
-   public ImportedImpl(AddonRegistry addonRegistry, LockManager lock, Class<T> type)
+   public ImportedImpl(AddonRegistryImpl addonRegistry, Class<T> type)
    {
       this.addonRegistry = addonRegistry;
-      this.lock = lock;
       this.type = type;
       this.typeName = type.getName();
    }
 
-   public ImportedImpl(AddonRegistryImpl addonRegistry, LockManager lock, String typeName)
+   public ImportedImpl(AddonRegistryImpl addonRegistry, String typeName)
    {
       this.addonRegistry = addonRegistry;
-      this.lock = lock;
       this.typeName = typeName;
    }
 
    @Override
    public Iterator<T> iterator()
    {
-      return new ImportedIteratorImpl(this, getExportedInstances());
+      return new ImportedIteratorImpl(getExportedInstances());
    }
 
    @Override
    public T get()
    {
-      if (isAmbiguous())
-         throw new IllegalStateException("Cannot resolve Ambiguous dependencies: " + toString());
-
-      ExportedInstance<T> exported = getExportedInstance();
-      if (exported != null)
-      {
-         T instance = exported.get();
-         instanceMap.put(instance, exported);
-         return instance;
-      }
-      else
+      ExportedInstance<T>[] instances = getExportedInstances();
+      if (instances.length > 1)
+         throw new IllegalStateException("Cannot resolve Ambiguous dependencies: " + toString(instances));
+      else if (instances.length == 0)
          throw new ContainerException("No services of type [" + typeName + "] could be found in any started addons.");
+
+      return track(instances[0]);
    }
 
    @Override
    public void release(T instance)
    {
-      ExportedInstance<T> exported = instanceMap.get(instance);
+      ExportedInstance<T> exported = instanceMap.remove(instance);
       if (exported != null)
       {
-         instanceMap.remove(instance);
          exported.release(instance);
       }
    }
@@ -94,94 +80,88 @@ public class ImportedImpl<T> implements Imported<T>
    public T selectExact(Class<T> type)
    {
       Assert.notNull(type, "Type to select must not be null.");
-      Set<ExportedInstance<T>> instances = getExportedInstances();
-      for (ExportedInstance<T> instance : instances)
+      for (ExportedInstance<T> instance : getExportedInstances())
       {
          if (type.equals(instance.getActualType()))
          {
-            T result = instance.get();
-            instanceMap.put(result, instance);
-            return result;
+            return track(instance);
          }
       }
       throw new ContainerException("No services of type [" + type + "] could be found in any started addons.");
    }
 
-   private ExportedInstance<T> getExportedInstance()
+   private T track(ExportedInstance<T> exported)
    {
-      return lock.performLocked(LockMode.READ, new Callable<ExportedInstance<T>>()
-      {
-         @Override
-         public ExportedInstance<T> call() throws Exception
-         {
-            Iterator<ExportedInstance<T>> iterator = getExportedInstances().iterator();
-            if (iterator.hasNext())
-               return iterator.next();
-            return null;
-         }
-      });
-
+      T instance = exported.get();
+      instanceMap.put(instance, exported);
+      return instance;
    }
 
-   private Set<ExportedInstance<T>> getExportedInstances()
+   /**
+    * Returns the cached {@link ExportedInstance} array, rebuilding it from the addons indexed as providers of this type
+    * if the {@link AddonRegistry} version has changed. Does not obtain a lock: the cache is replaced atomically, and the returned array
+    * must not be modified.
+    */
+   @SuppressWarnings({ "unchecked", "rawtypes" })
+   private ExportedInstance<T>[] getExportedInstances()
    {
-      return lock.performLocked(LockMode.READ, new Callable<Set<ExportedInstance<T>>>()
+      InstanceCache<T> cache = instanceCache;
+      long currentVersion = addonRegistry.getVersion();
+      if (cache.version != currentVersion)
       {
-         @SuppressWarnings({ "unchecked", "rawtypes" })
-         @Override
-         public Set<ExportedInstance<T>> call() throws Exception
+         Set<ExportedInstance<T>> instances = new LinkedHashSet<>();
+         for (Addon addon : addonRegistry.getServiceProviders(typeName))
          {
-            if (addonRegistry.getVersion() != version)
+            ServiceRegistry serviceRegistry = addon.getServiceRegistry();
+            if (type != null)
             {
-               version = addonRegistry.getVersion();
-               instanceCache.clear();
-
-               for (Addon addon : addonRegistry.getAddons())
-               {
-                  if (addon.getStatus().isStarted())
-                  {
-                     ServiceRegistry serviceRegistry = addon.getServiceRegistry();
-                     if (type != null)
-                     {
-                        instanceCache.addAll(serviceRegistry.getExportedInstances(type));
-                     }
-                     else
-                     {
-                        instanceCache.addAll((Collection) serviceRegistry.getExportedInstances(typeName));
-                     }
-                  }
-               }
+               instances.addAll(serviceRegistry.getExportedInstances(type));
+            }
+            else
+            {
+               instances.addAll((Collection) serviceRegistry.getExportedInstances(typeName));
             }
-
-            return instanceCache;
          }
-      });
+         cache = new InstanceCache<>(currentVersion, instances.toArray(new ExportedInstance[instances.size()]));
+         instanceCache = cache;
+      }
+      return cache.instances;
+   }
+
+   private static class InstanceCache<T>
+   {
+      private final long version;
+      private final ExportedInstance<T>[] instances;
+
+      public InstanceCache(long version, ExportedInstance<T>[] instances)
+      {
+         this.version = version;
+         this.instances = instances;
+      }
    }
 
    private class ImportedIteratorImpl implements Iterator<T>
    {
-      private final ImportedImpl<T> imported;
-      private final Iterator<ExportedInstance<T>> iterator;
+      private final ExportedInstance<T>[] instances;
+      private int index;
 
-      public ImportedIteratorImpl(ImportedImpl<T> imported, Set<ExportedInstance<T>> instances)
+      public ImportedIteratorImpl(ExportedInstance<T>[] instances)
       {
-         this.imported = imported;
-         this.iterator = instances.iterator();
+         this.instances = instances;
       }
 
       @Override
       public boolean hasNext()
       {
-         return iterator.hasNext();
+         return index < instances.length;
       }
 
       @Override
       public T next()
       {
-         ExportedInstance<T> exported = iterator.next();
-         T instance = exported.get();
-         imported.instanceMap.put(instance, exported);
-         return instance;
+         if (!hasNext())
+            throw new NoSuchElementException();
+         return track(instances[index++]);
       }
 
       @Override
@@ -193,17 +173,21 @@ public class ImportedImpl<T> implements Imported<T>
 
    @Override
    public String toString()
+   {
+      return toString(getExportedInstances());
+   }
+
+   private String toString(ExportedInstance<T>[] instances)
    {
       StringBuilder result = new StringBuilder();
 
       result.append("[");
-      Iterator<ExportedInstance<T>> iterator = this.getExportedInstances().iterator();
-      while (iterator.hasNext())
+      for (int i = 0; i < instances.length; i++)
       {
-         ExportedInstance<T> instance = iterator.next();
+         ExportedInstance<T> instance = instances[i];
          result.append(instance.getActualType().getName()).append(" from addon ");
          result.append(instance.getSourceAddon().getId());
-         if (iterator.hasNext())
+         if (i < instances.length - 1)
             result.append(",\n");
       }
       result.append("]");
@@ -214,13 +198,13 @@ public class ImportedImpl<T> implements Imported<T>
    @Override
    public boolean isUnsatisfied()
    {
-      return getExportedInstances().isEmpty();
+      return getExportedInstances().length == 0;
    }
 
    @Override
    public boolean isAmbiguous()
    {
-      return getExportedInstances().size() > 1;
+      return getExportedInstances().length > 1;
    }
 
 }
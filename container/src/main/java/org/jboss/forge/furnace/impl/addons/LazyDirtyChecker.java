@@ -24,10 +24,14 @@ public abstract class LazyDirtyChecker implements DirtyChecker
 
     @Override
     public final boolean isDirty()
+    {
+        ensureInitialized();
+        return isDirtyInternal();
+    }
+
+    protected final void ensureInitialized()
     {
         if (initialized.compareAndSet(false, true))
             init();
-
-        return isDirtyInternal();
     }
 }
@@ -6,6 +6,8 @@
  */
 package org.jboss.forge.furnace.impl.addons;
 
+import java.util.Collection;
+
 import org.jboss.forge.furnace.addons.Addon;
 import org.jboss.forge.furnace.addons.AddonId;
 
@@ -21,4 +23,19 @@ public interface MutableAddonRepositoryStateStrategy extends AddonRepositoryStat
    public boolean disable(final AddonId addon);
 
    public boolean enable(AddonId addon);
+
+   /**
+    * Enable all of the given {@link AddonId} instances at once.
+    * 
+    * @see org.jboss.forge.furnace.repositories.MutableAddonRepository#enableAll(Collection)
+    */
+   public default boolean enableAll(Collection<AddonId> addons)
+   {
+      boolean result = true;
+      for (AddonId addon : addons)
+      {
+         result &= enable(addon);
+      }
+      return result;
+   }
 }
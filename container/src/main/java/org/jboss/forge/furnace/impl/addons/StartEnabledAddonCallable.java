@@ -6,13 +6,15 @@
  */
 package org.jboss.forge.furnace.impl.addons;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.forge.furnace.Furnace;
 import org.jboss.forge.furnace.addons.Addon;
+import org.jboss.forge.furnace.addons.AddonDependency;
 
 /**
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
@@ -22,14 +24,14 @@ public class StartEnabledAddonCallable implements Callable<Void>
    private Furnace furnace;
    private AddonLifecycleManager lifecycleManager;
    private AddonStateManager stateManager;
-   private ExecutorService executor;
+   private AddonStartupExecutor executor;
    private AtomicInteger starting;
    private Addon addon;
 
    public StartEnabledAddonCallable(Furnace furnace,
             AddonLifecycleManager lifecycleManager,
             AddonStateManager stateManager,
-            ExecutorService executor,
+            AddonStartupExecutor executor,
             AtomicInteger starting,
             Addon toStart)
    {
@@ -51,13 +53,19 @@ public class StartEnabledAddonCallable implements Callable<Void>
             throw new IllegalStateException("Cannot start additional addons once Shutdown has been initiated.");
          }
 
-         Future<Void> result = null;
          if (stateManager.getRunnableOf(addon) == null)
          {
+            List<Addon> dependencies = new ArrayList<Addon>();
+            for (AddonDependency dependency : addon.getDependencies())
+            {
+               dependencies.add(dependency.getDependency());
+            }
+
             starting.incrementAndGet();
             AddonRunnable runnable = new AddonRunnable(furnace, lifecycleManager, stateManager, addon);
-            result = executor.submit(runnable, null);
+            FutureTask<Void> result = executor.createTask(addon, runnable);
             stateManager.setHandles(addon, result, runnable);
+            executor.schedule(result, dependencies);
          }
       }
       return null;
@@ -18,11 +18,25 @@ public class VersionDirtyChecker implements DirtyChecker
 
     private final Supplier<Integer> versionSupplier;
 
+    private final boolean notifying;
+
+    private volatile Runnable listener;
+
     private int lastRepoVersionSeen = 0;
 
     public VersionDirtyChecker(Supplier<Integer> versionSupplier)
+    {
+        this(versionSupplier, false);
+    }
+
+    /**
+     * Create a new {@link VersionDirtyChecker}. If <code>notifying</code> is <code>true</code>, the owner of the
+     * version guarantees to call {@link #versionChanged()} every time the version is incremented.
+     */
+    public VersionDirtyChecker(Supplier<Integer> versionSupplier, boolean notifying)
     {
         this.versionSupplier = versionSupplier;
+        this.notifying = notifying;
     }
 
     @Override
@@ -36,4 +50,27 @@ public class VersionDirtyChecker implements DirtyChecker
     {
         lastRepoVersionSeen = versionSupplier.get();
     }
+
+    @Override
+    public boolean setChangeListener(Runnable listener)
+    {
+        this.listener = listener;
+        return notifying;
+    }
+
+    /**
+     * Notify the registered listener, if any, that the version has changed.
+     */
+    public void versionChanged()
+    {
+        Runnable listener = this.listener;
+        if (listener != null)
+            listener.run();
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        this.listener = null;
+    }
 }
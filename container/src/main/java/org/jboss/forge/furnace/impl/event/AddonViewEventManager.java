@@ -8,50 +8,75 @@
 package org.jboss.forge.furnace.impl.event;
 
 import java.lang.annotation.Annotation;
-import java.util.concurrent.Callable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.jboss.forge.furnace.addons.Addon;
 import org.jboss.forge.furnace.addons.AddonView;
 import org.jboss.forge.furnace.event.EventException;
 import org.jboss.forge.furnace.event.EventManager;
-import org.jboss.forge.furnace.lock.LockManager;
-import org.jboss.forge.furnace.lock.LockMode;
+import org.jboss.forge.furnace.impl.addons.AddonLifecycleManager;
 
 /**
- * {@link EventManager} that delegates calls to each started {@link Addon} in the {@link AddonView#getAddons()} set.
- * 
+ * {@link EventManager} that delegates calls to each started {@link Addon} in the {@link AddonView#getAddons()} set
+ * that observes the type of the event.
+ *
  * @author <a href="mailto:ggastald@redhat.com">George Gastaldi</a>
  */
 public class AddonViewEventManager implements EventManager
 {
    private final AddonView addonView;
-   private final LockManager lockManager;
+   private final AddonLifecycleManager manager;
+   private final EventDispatchExecutor executor;
 
-   public AddonViewEventManager(AddonView addonView, LockManager lockManager)
+   public AddonViewEventManager(AddonView addonView, AddonLifecycleManager manager, EventDispatchExecutor executor)
    {
       super();
       this.addonView = addonView;
-      this.lockManager = lockManager;
+      this.manager = manager;
+      this.executor = executor;
    }
 
    @Override
    public void fireEvent(final Object event, final Annotation... qualifiers) throws EventException
    {
-      lockManager.performLocked(LockMode.READ, new Callable<Void>()
+      for (Addon addon : manager.getObservers(addonView, event.getClass()))
       {
-         @Override
-         public Void call() throws Exception
+         if (addon.getStatus().isStarted())
          {
-            for (Addon addon : addonView.getAddons())
+            EventManager eventManager = addon.getEventManager();
+            eventManager.fireEvent(event, qualifiers);
+         }
+      }
+   }
+
+   /**
+    * Notify each observing {@link Addon} in parallel. Each {@link Addon} is notified of events in the order in which
+    * they were fired.
+    */
+   @Override
+   public CompletableFuture<Void> fireEventAsync(final Object event, final Annotation... qualifiers)
+   {
+      List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+      for (final Addon addon : manager.getObservers(addonView, event.getClass()))
+      {
+         deliveries.add(executor.submit(addon, new Runnable()
+         {
+            @Override
+            public void run()
             {
                if (addon.getStatus().isStarted())
-               {
-                  EventManager eventManager = addon.getEventManager();
-                  eventManager.fireEvent(event, qualifiers);
-               }
+                  addon.getEventManager().fireEvent(event, qualifiers);
             }
-            return null;
-         }
-      });
+         }));
+      }
+      return CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[deliveries.size()]));
+   }
+
+   @Override
+   public boolean isObserved(Class<?> eventType)
+   {
+      return !manager.getObservers(addonView, eventType).isEmpty();
    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.impl.event;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.forge.furnace.addons.Addon;
+
+/**
+ * Delivers events to {@link Addon} instances on a bounded set of single-threaded lanes. All events for a given
+ * {@link Addon} are delivered on the same lane, so each {@link Addon} observes them in the order they were fired, while
+ * different {@link Addon} instances are notified in parallel.
+ * <p>
+ * The number of lanes defaults to the number of available processors (at least two), and can be set with the
+ * {@value #THREADS_PROPERTY} system property.
+ */
+public class EventDispatchExecutor
+{
+   public static final String THREADS_PROPERTY = "furnace.events.threads";
+
+   private final ThreadPoolExecutor[] lanes;
+
+   public EventDispatchExecutor()
+   {
+      int threads = Integer.getInteger(THREADS_PROPERTY, Math.max(2, Runtime.getRuntime().availableProcessors()));
+      this.lanes = new ThreadPoolExecutor[Math.max(1, threads)];
+      for (int i = 0; i < lanes.length; i++)
+      {
+         lanes[i] = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+         lanes[i].allowCoreThreadTimeOut(true);
+      }
+   }
+
+   /**
+    * Run the given task on the lane of the given {@link Addon}, after all tasks previously submitted for it.
+    */
+   public CompletableFuture<Void> submit(Addon addon, Runnable task)
+   {
+      int lane = (System.identityHashCode(addon) & Integer.MAX_VALUE) % lanes.length;
+      return CompletableFuture.runAsync(task, lanes[lane]);
+   }
+
+   /**
+    * Stop accepting events. Events already submitted are still delivered.
+    */
+   public void shutdown()
+   {
+      for (ThreadPoolExecutor lane : lanes)
+      {
+         lane.shutdown();
+      }
+   }
+}
@@ -25,4 +25,10 @@ public enum NullEventManager implements EventManager
    {
       // do nothing
    }
+
+   @Override
+   public boolean isObserved(Class<?> eventType)
+   {
+      return false;
+   }
 }
@@ -9,7 +9,11 @@ package org.jboss.forge.furnace.impl.graph;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.jboss.forge.furnace.addons.AddonView;
@@ -28,6 +32,11 @@ public class MasterGraph
    private final DirectedGraph<AddonVertex, AddonDependencyEdge> graph = new SimpleDirectedGraph<AddonVertex, AddonDependencyEdge>(
             AddonDependencyEdge.class);
 
+   /*
+    * Vertices by name. Must be kept in sync with the graph, so vertices are only added and removed through this class.
+    */
+   private final Map<String, Set<AddonVertex>> vertices = new HashMap<String, Set<AddonVertex>>();
+
    public DirectedGraph<AddonVertex, AddonDependencyEdge> getGraph()
    {
       return graph;
@@ -72,7 +81,7 @@ public class MasterGraph
       if (localVertices.isEmpty())
       {
          result = new AddonVertex(otherVertex, view);
-         graph.addVertex(result);
+         addVertex(result);
          copySubtree(result, other, otherVertex);
       }
       else
@@ -98,19 +107,58 @@ public class MasterGraph
          if (!exists)
          {
             result = new AddonVertex(otherVertex, view);
-            graph.addVertex(result);
+            addVertex(result);
             copySubtree(result, other, otherVertex);
          }
       }
       return result;
    }
 
+   /**
+    * Add the given {@link AddonVertex} to this graph.
+    */
+   public void addVertex(AddonVertex vertex)
+   {
+      if (graph.addVertex(vertex))
+      {
+         Set<AddonVertex> named = vertices.get(vertex.getName());
+         if (named == null)
+         {
+            named = new HashSet<AddonVertex>();
+            vertices.put(vertex.getName(), named);
+         }
+         named.add(vertex);
+      }
+   }
+
+   private void removeVertex(AddonVertex vertex)
+   {
+      if (graph.removeVertex(vertex))
+      {
+         Set<AddonVertex> named = vertices.get(vertex.getName());
+         named.remove(vertex);
+         if (named.isEmpty())
+            vertices.remove(vertex.getName());
+      }
+   }
+
+   /**
+    * Return all vertices with the given name.
+    */
+   public Set<AddonVertex> getVertices(String name)
+   {
+      Set<AddonVertex> result = vertices.get(name);
+      if (result == null)
+         return Collections.emptySet();
+      return Collections.unmodifiableSet(result);
+   }
+
    public Set<AddonVertex> getVertices(String name, Version version)
    {
       Set<AddonVertex> result = new HashSet<AddonVertex>();
-      for (AddonVertex vertex : getGraph().vertexSet())
+      for (AddonVertex vertex : getVertices(name))
       {
-         if (vertex.getName().equals(name) && version.compareTo(vertex.getVersion()) == 0)
+         if (version.compareTo(vertex.getVersion()) == 0)
          {
             result.add(vertex);
          }
@@ -120,6 +168,38 @@ public class MasterGraph
 
    public boolean isSubtreeEquivalent(AddonVertex localVertex,
             DirectedGraph<AddonVertex, AddonDependencyEdge> otherGraph, AddonVertex otherVertex)
+   {
+      return isSubtreeEquivalent(localVertex, otherGraph, otherVertex,
+               new IdentityHashMap<AddonVertex, Map<AddonVertex, Boolean>>());
+   }
+
+   /**
+    * @param results the results of previous comparisons against the same graphs, used to avoid comparing shared
+    *           subtrees more than once
+    */
+   boolean isSubtreeEquivalent(AddonVertex localVertex,
+            DirectedGraph<AddonVertex, AddonDependencyEdge> otherGraph, AddonVertex otherVertex,
+            Map<AddonVertex, Map<AddonVertex, Boolean>> results)
+   {
+      Map<AddonVertex, Boolean> localResults = results.get(localVertex);
+      if (localResults == null)
+      {
+         localResults = new IdentityHashMap<AddonVertex, Boolean>();
+         results.put(localVertex, localResults);
+      }
+
+      Boolean result = localResults.get(otherVertex);
+      if (result == null)
+      {
+         result = compareSubtrees(localVertex, otherGraph, otherVertex, results);
+         localResults.put(otherVertex, result);
+      }
+      return result;
+   }
+
+   private boolean compareSubtrees(AddonVertex localVertex,
+            DirectedGraph<AddonVertex, AddonDependencyEdge> otherGraph, AddonVertex otherVertex,
+            Map<AddonVertex, Map<AddonVertex, Boolean>> results)
    {
       Set<AddonDependencyEdge> otherOutgoing;
       otherOutgoing = otherGraph.outgoingEdgesOf(otherVertex);
@@ -138,7 +218,7 @@ public class MasterGraph
                for (AddonVertex candidate : localCandidates)
                {
                   AddonDependencyEdge localEdge = graph.getEdge(localVertex, candidate);
-                  if (localEdge != null && isSubtreeEquivalent(candidate, otherGraph, otherTarget))
+                  if (localEdge != null && isSubtreeEquivalent(candidate, otherGraph, otherTarget, results))
                   {
                      found = true;
                      break;
@@ -159,7 +239,7 @@ public class MasterGraph
       Set<AddonDependencyEdge> incoming = graph.incomingEdgesOf(original);
       Set<AddonDependencyEdge> outgoing = graph.outgoingEdgesOf(original);
 
-      graph.addVertex(replacement);
+      addVertex(replacement);
 
       for (AddonDependencyEdge edge : incoming)
       {
@@ -173,7 +253,7 @@ public class MasterGraph
                   new AddonDependencyEdge(edge.getVersionRange(), edge.isExported()));
       }
 
-      graph.removeVertex(original);
+      removeVertex(original);
    }
 
    private void copySubtree(AddonVertex localVertex, OptimizedAddonGraph other, AddonVertex vertex)
@@ -6,6 +6,10 @@
  */
 package org.jboss.forge.furnace.impl.graph;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.jboss.forge.furnace.addons.Addon;
@@ -54,18 +58,14 @@ public class MasterGraphChangeHandler
          for (AddonVertex last : lastMasterGraph.getGraph().vertexSet())
          {
             boolean found = false;
-            Set<AddonVertex> vertices = graph.getGraph().vertexSet();
-            for (AddonVertex vertex : vertices)
+            for (AddonVertex vertex : graph.getVertices(last.getName()))
             {
-               if (last.getName().equals(vertex.getName()))
+               for (AddonView view : vertex.getViews())
                {
-                  for (AddonView view : vertex.getViews())
+                  if (last.getViews().contains(view))
                   {
-                     if (last.getViews().contains(view))
-                     {
-                        found = true;
-                        break;
-                     }
+                     found = true;
+                     break;
                   }
                }
 
@@ -75,7 +75,7 @@ public class MasterGraphChangeHandler
 
             if (!found && last.getAddon().getStatus().isLoaded())
             {
-               graph.getGraph().addVertex(last);
+               graph.addVertex(last);
                last.setDirty(true);
             }
          }
@@ -97,7 +97,7 @@ public class MasterGraphChangeHandler
                Addon addon = null;
                if (lastMasterGraph != null)
                {
-                  for (AddonVertex last : lastMasterGraph.getGraph().vertexSet())
+                  for (AddonVertex last : lastMasterGraph.getVertices(vertex.getName()))
                   {
                      if (last.getAddon().getId().equals(addonId) && last.getViews().contains(view))
                      {
@@ -146,6 +146,7 @@ public class MasterGraphChangeHandler
 
    private void markDirty()
    {
+      final Map<AddonVertex, Map<AddonVertex, Boolean>> equivalence = new IdentityHashMap<>();
       DepthFirstIterator<AddonVertex, AddonDependencyEdge> iterator = new DepthFirstIterator<AddonVertex, AddonDependencyEdge>(
                graph.getGraph());
 
@@ -175,7 +176,7 @@ public class MasterGraphChangeHandler
                Set<AddonVertex> lastVertices = lastMasterGraph.getVertices(vertex.getName(), vertex.getVersion());
                for (AddonVertex lastVertex : lastVertices)
                {
-                  if (graph.isSubtreeEquivalent(vertex, lastMasterGraph.getGraph(), lastVertex))
+                  if (graph.isSubtreeEquivalent(vertex, lastMasterGraph.getGraph(), lastVertex, equivalence))
                   {
                      equivalent = true;
                      break;
@@ -286,6 +287,7 @@ public class MasterGraphChangeHandler
       DepthFirstIterator<AddonVertex, AddonDependencyEdge> iterator = new DepthFirstIterator<AddonVertex, AddonDependencyEdge>(
                graph.getGraph());
 
+      final List<Addon> addons = new ArrayList<Addon>();
       iterator.addTraversalListener(new TraversalListenerAdapter<AddonVertex, AddonDependencyEdge>()
       {
          @Override
@@ -293,12 +295,17 @@ public class MasterGraphChangeHandler
          {
             Addon addon = event.getVertex().getAddon();
             if (!addon.getStatus().isLoaded())
-               lifecycleManager.loadAddon(addon);
+               addons.add(addon);
          };
       });
 
       while (iterator.hasNext())
          iterator.next();
+
+      /*
+       * Dependencies are finished before their dependents, so loading in this order is safe.
+       */
+      lifecycleManager.loadAddons(addons);
    }
 
    private void startupIncremental()
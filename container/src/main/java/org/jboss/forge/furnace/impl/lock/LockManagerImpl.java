@@ -6,7 +6,15 @@
  */
 package org.jboss.forge.furnace.impl.lock;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -16,43 +24,127 @@ import org.jboss.forge.furnace.lock.LockMode;
 import org.jboss.forge.furnace.util.Assert;
 
 /**
+ * The {@link LockManager} of a Furnace instance. Its lock guards the structure of the container, such as the addon
+ * graph, and must be held in {@link LockMode#WRITE} mode while that is changed.
+ * <p>
+ * Finer grained {@link LockManager} instances, for instance for a single repository, can be obtained with
+ * {@link #getLockManager(String)}. These hold the container lock in {@link LockMode#READ} mode for the duration of
+ * their tasks, so they exclude structural changes, but not each other or readers of the container. Striped locking can
+ * be disabled with the {@value #STRIPED_LOCKING_PROPERTY} system property, in which case every task is guarded by the
+ * container lock alone.
+ *
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
 public class LockManagerImpl implements LockManager
 {
-   private ReentrantReadWriteLock readWriteLock;
+   public static final String STRIPED_LOCKING_PROPERTY = "furnace.lock.striped";
+
+   private static final String CONTAINER_LOCK_NAME = "furnace";
+
+   private final boolean striped = Boolean.parseBoolean(System.getProperty(STRIPED_LOCKING_PROPERTY, "true"));
+   private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock(true);
+   private final LockStatistics statistics = new LockStatistics(CONTAINER_LOCK_NAME);
+
+   private final ConcurrentMap<String, StripedLockManager> stripes = new ConcurrentHashMap<>();
+
+   /*
+    * For each stripe, the stripes that have been acquired while holding it. Used to detect lock order inversions.
+    */
+   private final ConcurrentMap<String, Set<String>> acquiredWhileHolding = new ConcurrentHashMap<>();
+   private final ThreadLocal<Deque<String>> heldStripes = new ThreadLocal<>();
+
+   @Override
+   public <T> T performLocked(LockMode mode, Callable<T> task)
+   {
+      Assert.notNull(mode, "LockMode must not be null.");
+      Assert.notNull(task, "Task to perform must not be null.");
+
+      Lock lock = acquire(readWriteLock, mode, statistics);
+      try
+      {
+         return call(mode, task);
+      }
+      finally
+      {
+         lock.unlock();
+      }
+   }
+
+   /**
+    * Return a {@link LockManager} for the resource with the given name, for instance an addon repository. The same
+    * instance is returned for the same name.
+    */
+   public LockManager getLockManager(String name)
+   {
+      Assert.notNull(name, "Lock name must not be null.");
+      if (!striped)
+         return this;
+
+      StripedLockManager result = stripes.get(name);
+      if (result == null)
+      {
+         result = new StripedLockManager(name);
+         StripedLockManager existing = stripes.putIfAbsent(name, result);
+         if (existing != null)
+            result = existing;
+      }
+      return result;
+   }
 
-   private synchronized Lock obtainLock(LockMode mode)
+   /**
+    * Returns the {@link LockStatistics} of the container lock and of every lock obtained from
+    * {@link #getLockManager(String)}, by lock name.
+    */
+   public Map<String, LockStatistics> getStatistics()
    {
-      if (readWriteLock == null)
-         readWriteLock = new ReentrantReadWriteLock(true);
+      Map<String, LockStatistics> result = new LinkedHashMap<>();
+      result.put(CONTAINER_LOCK_NAME, statistics);
+      for (StripedLockManager stripe : stripes.values())
+      {
+         result.put(stripe.name, stripe.statistics);
+      }
+      return Collections.unmodifiableMap(result);
+   }
 
+   private static Lock acquire(ReentrantReadWriteLock readWriteLock, LockMode mode, LockStatistics statistics)
+   {
+      Lock lock;
+      boolean contended;
       if (LockMode.READ.equals(mode))
       {
-         return readWriteLock.readLock();
+         lock = readWriteLock.readLock();
+         contended = readWriteLock.getReadHoldCount() == 0 && !readWriteLock.isWriteLockedByCurrentThread()
+                  && (readWriteLock.isWriteLocked() || readWriteLock.hasQueuedThreads());
       }
       else
       {
          if (readWriteLock.getReadHoldCount() > 0)
             throw new DeadlockError(
                      "Thread with READ lock attempted to obtain a WRITE lock (This is never allowed.)");
-         return readWriteLock.writeLock();
+         lock = readWriteLock.writeLock();
+         contended = !readWriteLock.isWriteLockedByCurrentThread()
+                  && (readWriteLock.isWriteLocked() || readWriteLock.getReadLockCount() > 0);
       }
+
+      if (contended)
+      {
+         long start = System.nanoTime();
+         lock.lock();
+         statistics.acquiredAfterWaiting(System.nanoTime() - start);
+      }
+      else
+      {
+         lock.lock();
+         statistics.acquired();
+      }
+      return lock;
    }
 
-   @Override
-   public <T> T performLocked(LockMode mode, Callable<T> task)
+   private static <T> T call(LockMode mode, Callable<T> task)
    {
-      Assert.notNull(mode, "LockMode must not be null.");
-      Assert.notNull(task, "Task to perform must not be null.");
-
-      Lock lock = obtainLock(mode);
-      lock.lock();
-
-      T result;
       try
       {
-         result = task.call();
+         return task.call();
       }
       catch (RuntimeException e)
       {
@@ -62,11 +154,86 @@ public class LockManagerImpl implements LockManager
       {
          throw new ContainerException("Failed to execute task in LockMode [" + mode + "]", e);
       }
-      finally
+   }
+
+   private void assertLockOrder(String name, Deque<String> held)
+   {
+      for (String holding : held)
       {
-         lock.unlock();
+         if (!holding.equals(name))
+         {
+            Set<String> after = acquiredWhileHolding.get(name);
+            if (after != null && after.contains(holding))
+               throw new DeadlockError("Thread holding lock [" + holding + "] attempted to obtain lock [" + name
+                        + "], but these locks have previously been obtained in the reverse order.");
+
+            Set<String> locks = acquiredWhileHolding.get(holding);
+            if (locks == null)
+            {
+               locks = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+               Set<String> existing = acquiredWhileHolding.putIfAbsent(holding, locks);
+               if (existing != null)
+                  locks = existing;
+            }
+            locks.add(name);
+         }
       }
-      return result;
    }
 
+   private class StripedLockManager implements LockManager
+   {
+      private final String name;
+      private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock(true);
+      private final LockStatistics statistics;
+
+      public StripedLockManager(String name)
+      {
+         this.name = name;
+         this.statistics = new LockStatistics(name);
+      }
+
+      @Override
+      public <T> T performLocked(LockMode mode, Callable<T> task)
+      {
+         Assert.notNull(mode, "LockMode must not be null.");
+         Assert.notNull(task, "Task to perform must not be null.");
+
+         Lock containerLock = acquire(LockManagerImpl.this.readWriteLock, LockMode.READ,
+                  LockManagerImpl.this.statistics);
+         try
+         {
+            Deque<String> held = heldStripes.get();
+            if (held == null)
+            {
+               held = new ArrayDeque<>();
+               heldStripes.set(held);
+            }
+            assertLockOrder(name, held);
+
+            Lock lock = acquire(readWriteLock, mode, statistics);
+            held.push(name);
+            try
+            {
+               return call(mode, task);
+            }
+            finally
+            {
+               held.pop();
+               if (held.isEmpty())
+                  heldStripes.remove();
+               lock.unlock();
+            }
+         }
+         finally
+         {
+            containerLock.unlock();
+         }
+      }
+
+      @Override
+      public String toString()
+      {
+         return name;
+      }
+   }
 }
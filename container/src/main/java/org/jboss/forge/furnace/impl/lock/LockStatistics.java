@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.impl.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contention statistics of a lock managed by {@link LockManagerImpl}.
+ */
+public class LockStatistics
+{
+   private final String name;
+   private final AtomicLong acquisitions = new AtomicLong();
+   private final AtomicLong contended = new AtomicLong();
+   private final AtomicLong waitNanos = new AtomicLong();
+   private final AtomicLong maxWaitNanos = new AtomicLong();
+
+   LockStatistics(String name)
+   {
+      this.name = name;
+   }
+
+   void acquired()
+   {
+      acquisitions.incrementAndGet();
+   }
+
+   void acquiredAfterWaiting(long nanos)
+   {
+      acquisitions.incrementAndGet();
+      contended.incrementAndGet();
+      waitNanos.addAndGet(nanos);
+
+      long max = maxWaitNanos.get();
+      while (nanos > max && !maxWaitNanos.compareAndSet(max, nanos))
+         max = maxWaitNanos.get();
+   }
+
+   /**
+    * Returns the name of the lock.
+    */
+   public String getName()
+   {
+      return name;
+   }
+
+   /**
+    * Returns how many times the lock was acquired.
+    */
+   public long getAcquisitions()
+   {
+      return acquisitions.get();
+   }
+
+   /**
+    * Returns how many times a thread had to wait for the lock to become available.
+    */
+   public long getContendedAcquisitions()
+   {
+      return contended.get();
+   }
+
+   /**
+    * Returns the total time threads spent waiting for the lock.
+    */
+   public long getWaitTime(TimeUnit unit)
+   {
+      return unit.convert(waitNanos.get(), TimeUnit.NANOSECONDS);
+   }
+
+   /**
+    * Returns the longest time a thread spent waiting for the lock.
+    */
+   public long getMaxWaitTime(TimeUnit unit)
+   {
+      return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+   }
+
+   @Override
+   public String toString()
+   {
+      return name + " [acquisitions=" + getAcquisitions() + ", contended=" + getContendedAcquisitions() + ", wait="
+               + getWaitTime(TimeUnit.MILLISECONDS) + "ms, maxWait=" + getMaxWaitTime(TimeUnit.MILLISECONDS) + "ms]";
+   }
+}
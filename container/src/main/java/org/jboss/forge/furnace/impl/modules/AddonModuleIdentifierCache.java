@@ -6,37 +6,47 @@
  */
 package org.jboss.forge.furnace.impl.modules;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.forge.furnace.addons.Addon;
 import org.jboss.forge.furnace.addons.AddonId;
 import org.jboss.modules.ModuleIdentifier;
 
 /**
+ * Bidirectional index between {@link Addon} instances and the {@link ModuleIdentifier} of their module. Safe for use
+ * by concurrently starting addons; lookups in either direction do not block.
+ * 
  * @author <a href="mailto:lincolnbaxter@gmail.com">Lincoln Baxter, III</a>
  */
 class AddonModuleIdentifierCache
 {
-   private final Map<Addon, ModuleIdentifier> map = new HashMap<>();
+   private final Map<Addon, ModuleIdentifier> map = new ConcurrentHashMap<>();
+   private final Map<ModuleIdentifier, Addon> addons = new ConcurrentHashMap<>();
 
    public void clear(Addon addon)
    {
-      map.remove(addon);
+      ModuleIdentifier id = map.remove(addon);
+      if (id != null)
+         addons.remove(id);
    }
 
    public void dispose()
    {
       map.clear();
+      addons.clear();
    }
 
    public ModuleIdentifier getModuleId(Addon addon)
    {
-      return map.computeIfAbsent(addon,
-               a -> ModuleIdentifier.fromString(toModuleId(a.getId()) + "_" + UUID.randomUUID().toString()));
+      return map.computeIfAbsent(addon, a -> {
+         ModuleIdentifier id = ModuleIdentifier.fromString(toModuleId(a.getId()) + "_" + UUID.randomUUID().toString());
+         addons.put(id, a);
+         return id;
+      });
    }
 
    private String toModuleId(AddonId id)
@@ -61,14 +71,7 @@ class AddonModuleIdentifierCache
 
    public Addon getAddon(ModuleIdentifier id)
    {
-      for (Entry<Addon, ModuleIdentifier> entry : map.entrySet())
-      {
-         if (entry.getValue().equals(id))
-         {
-            return entry.getKey();
-         }
-      }
-      return null;
+      return addons.get(id);
    }
 
 }
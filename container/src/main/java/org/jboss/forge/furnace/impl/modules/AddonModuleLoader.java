@@ -9,11 +9,18 @@ package org.jboss.forge.furnace.impl.modules;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.jar.JarFile;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.smallrye.common.io.jar.JarFiles;
@@ -25,6 +32,7 @@ import org.jboss.forge.furnace.exception.ContainerException;
 import org.jboss.forge.furnace.impl.addons.AddonLifecycleManager;
 import org.jboss.forge.furnace.impl.addons.AddonStateManager;
 import org.jboss.forge.furnace.impl.modules.providers.FurnaceContainerSpec;
+import org.jboss.forge.furnace.proxy.ClassLoaderAdapterCallback;
 import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
 import org.jboss.forge.furnace.repositories.AddonRepository;
 import org.jboss.modules.DependencySpec;
@@ -35,6 +43,7 @@ import org.jboss.modules.ModuleLoadException;
 import org.jboss.modules.ModuleLoader;
 import org.jboss.modules.ModuleSpec;
 import org.jboss.modules.ModuleSpec.Builder;
+import org.jboss.modules.ResourceLoader;
 import org.jboss.modules.ResourceLoaderSpec;
 import org.jboss.modules.ResourceLoaders;
 import org.jboss.modules.filter.PathFilters;
@@ -58,6 +67,9 @@ public class AddonModuleLoader extends ModuleLoader
 
    private final ThreadLocal<Addon> currentAddon = new ThreadLocal<>();
 
+   private final Map<ModuleIdentifier, List<ResourceLoader>> preparedResources = new ConcurrentHashMap<>();
+   private ForkJoinPool preparePool;
+
    private Furnace furnace;
 
    public AddonModuleLoader(Furnace furnace, AddonLifecycleManager lifecycleManager, AddonStateManager stateManager)
@@ -77,6 +89,12 @@ public class AddonModuleLoader extends ModuleLoader
       this.stateManager = null;
       this.moduleCache.dispose();
       this.moduleJarFileCache.dispose();
+      this.preparedResources.clear();
+      if (this.preparePool != null)
+      {
+         this.preparePool.shutdownNow();
+         this.preparePool = null;
+      }
       this.moduleProviders = null;
    }
 
@@ -204,26 +222,40 @@ public class AddonModuleLoader extends ModuleLoader
 
    private void addLocalResources(AddonRepository repository, AddonId found, Builder builder, ModuleIdentifier id)
    {
-      List<File> resources = repository.getAddonResources(found);
+      List<ResourceLoader> prepared = preparedResources.remove(id);
+      if (prepared == null)
+      {
+         prepared = createResourceLoaders(id, repository.getAddonResources(found), false);
+      }
+
+      for (ResourceLoader resourceLoader : prepared)
+      {
+         builder.addResourceRoot(ResourceLoaderSpec.createResourceLoaderSpec(resourceLoader, PathFilters.acceptAll()));
+      }
+   }
+
+   /**
+    * @param index whether JAR indexes should be built eagerly, instead of when the module is linked
+    */
+   private List<ResourceLoader> createResourceLoaders(ModuleIdentifier id, List<File> resources, boolean index)
+   {
+      List<ResourceLoader> result = new ArrayList<>();
       for (File file : resources)
       {
          try
          {
             if (file.isDirectory())
             {
-               builder.addResourceRoot(
-                        ResourceLoaderSpec.createResourceLoaderSpec(
-                                 ResourceLoaders.createPathResourceLoader(file.toPath()),
-                                 PathFilters.acceptAll()));
+               result.add(ResourceLoaders.createPathResourceLoader(file.toPath()));
             }
             else if (file.length() > 0)
             {
                JarFile jarFile = JarFiles.create(file);
                moduleJarFileCache.addJarFileReference(id, jarFile);
-               builder.addResourceRoot(
-                        ResourceLoaderSpec.createResourceLoaderSpec(
-                                 ResourceLoaders.createJarResourceLoader(jarFile),
-                                 PathFilters.acceptAll()));
+               ResourceLoader resourceLoader = ResourceLoaders.createJarResourceLoader(jarFile);
+               if (index)
+                  resourceLoader.getPaths();
+               result.add(resourceLoader);
             }
          }
          catch (IOException e)
@@ -231,6 +263,67 @@ public class AddonModuleLoader extends ModuleLoader
             throw new ContainerException("Could not load resources from [" + file.getAbsolutePath() + "]", e);
          }
       }
+      return result;
+   }
+
+   /**
+    * Opens and indexes the resources of the given {@link Addon} instances in parallel, so that the expensive I/O is
+    * already done when their modules are subsequently loaded (in dependency order) via
+    * {@link #loadAddonModule(Addon)}. Resources that are not consumed by then are released by
+    * {@link #discardPreparedAddonModules()}.
+    */
+   public void prepareAddonModules(Map<Addon, List<File>> addonResources)
+   {
+      if (addonResources.size() < 2)
+         return;
+
+      List<ForkJoinTask<?>> tasks = new ArrayList<>();
+      for (Entry<Addon, List<File>> entry : addonResources.entrySet())
+      {
+         final ModuleIdentifier id = moduleCache.getModuleId(entry.getKey());
+         final List<File> resources = entry.getValue();
+         tasks.add(getPreparePool().submit(new Runnable()
+         {
+            @Override
+            public void run()
+            {
+               try
+               {
+                  preparedResources.put(id, createResourceLoaders(id, resources, true));
+               }
+               catch (RuntimeException e)
+               {
+                  // Leave it to loadAddonModule() to report the failure
+                  logger.log(Level.FINE, "Could not prepare resources of module [" + id + "]", e);
+                  moduleJarFileCache.closeJarFileReferences(id);
+               }
+            }
+         }));
+      }
+
+      for (ForkJoinTask<?> task : tasks)
+      {
+         task.join();
+      }
+   }
+
+   /**
+    * Releases any resources opened by {@link #prepareAddonModules(Map)} that were not used to load a module.
+    */
+   public void discardPreparedAddonModules()
+   {
+      for (ModuleIdentifier id : preparedResources.keySet())
+      {
+         preparedResources.remove(id);
+         moduleJarFileCache.closeJarFileReferences(id);
+      }
+   }
+
+   private synchronized ForkJoinPool getPreparePool()
+   {
+      if (preparePool == null)
+         preparePool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+      return preparePool;
    }
 
    private void addContainerDependencies(Set<AddonView> views, AddonRepository repository, AddonId found,
@@ -317,7 +410,10 @@ public class AddonModuleLoader extends ModuleLoader
       moduleJarFileCache.closeJarFileReferences(id);
       Module loadedModule = findLoadedModuleLocal(id);
       if (loadedModule != null)
+      {
+         ClassLoaderAdapterCallback.releaseCaches(loadedModule.getClassLoader());
          unloadModuleLocal(loadedModule);
+      }
       moduleCache.clear(addon);
    }
 
@@ -12,9 +12,14 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.CRC32;
 
 import org.jboss.forge.furnace.util.Assert;
 import org.jboss.forge.furnace.util.OperatingSystemUtils;
@@ -227,6 +232,115 @@ public final class Files
       doCopyFile(srcFile, destFile);
    }
 
+   /**
+    * Creates a hard link to an existing file at a new location, or copies it if a hard link cannot be created (for
+    * instance because the files are on different file stores, or the file system does not support hard links). Copies
+    * are verified by comparing the checksums of both files.
+    * <p>
+    * The new file is created next to the destination and then renamed over it, so an existing destination is replaced
+    * rather than written through; this matters when it is already a hard link to another file. Nothing is done if the
+    * destination already is the source file.
+    * <p>
+    * A hard link shares its contents with the source file, so linking must only be used for files that are replaced
+    * rather than modified in place, such as JAR artifacts in a local Maven repository.
+    * 
+    * @param srcFile an existing file to link or copy, must not be <code>null</code>
+    * @param destFile the new file, must not be <code>null</code>
+    * @param link whether to try to create a hard link before copying
+    * @return <code>true</code> if the destination is a hard link to the source, <code>false</code> if it was copied
+    * 
+    * @throws IOException if source or destination is invalid, or if an IO error occurs during copying
+    * @see #copyFile(File, File)
+    */
+   public static boolean linkOrCopyFile(File srcFile, File destFile, boolean link) throws IOException
+   {
+      if (srcFile == null)
+      {
+         throw new NullPointerException("Source must not be null");
+      }
+      if (destFile == null)
+      {
+         throw new NullPointerException("Destination must not be null");
+      }
+      if (srcFile.exists() == false)
+      {
+         throw new FileNotFoundException("Source '" + srcFile + "' does not exist");
+      }
+      if (srcFile.isDirectory())
+      {
+         throw new IOException("Source '" + srcFile + "' exists but is a directory");
+      }
+
+      Path source = srcFile.toPath();
+      Path target = destFile.getAbsoluteFile().toPath();
+      if (java.nio.file.Files.exists(target) && java.nio.file.Files.isSameFile(source, target))
+      {
+         return true;
+      }
+      if (java.nio.file.Files.isDirectory(target))
+      {
+         throw new IOException("Destination '" + destFile + "' exists but is a directory");
+      }
+
+      java.nio.file.Files.createDirectories(target.getParent());
+      Path temp = target.resolveSibling("." + target.getFileName() + "." + System.nanoTime() + ".tmp");
+      try
+      {
+         boolean linked = false;
+         if (link)
+         {
+            try
+            {
+               java.nio.file.Files.createLink(temp, source);
+               linked = true;
+            }
+            catch (IOException | UnsupportedOperationException | SecurityException e)
+            {
+               // not supported across file stores or by this file system, fall back to copying
+            }
+         }
+
+         if (!linked)
+         {
+            doCopyFile(srcFile, temp.toFile());
+            if (checksum(srcFile) != checksum(temp.toFile()))
+            {
+               throw new IOException("Checksum of '" + destFile + "' does not match '" + srcFile + "'");
+            }
+         }
+
+         try
+         {
+            java.nio.file.Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                     StandardCopyOption.ATOMIC_MOVE);
+         }
+         catch (AtomicMoveNotSupportedException e)
+         {
+            java.nio.file.Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+         }
+         return linked;
+      }
+      finally
+      {
+         java.nio.file.Files.deleteIfExists(temp);
+      }
+   }
+
+   private static long checksum(File file) throws IOException
+   {
+      CRC32 crc = new CRC32();
+      byte[] buffer = new byte[(int) (64 * ONE_KB)];
+      try (InputStream stream = new FileInputStream(file))
+      {
+         int read;
+         while ((read = stream.read(buffer)) != -1)
+         {
+            crc.update(buffer, 0, read);
+         }
+      }
+      return crc.getValue();
+   }
+
    /**
     * Internal copy file method.
     * 
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.impl.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A concurrent map that holds its keys weakly and compares them by identity. Unlike a synchronized
+ * {@link java.util.WeakHashMap}, readers and writers never contend on a shared monitor, and keys are never asked for
+ * their {@link Object#hashCode()} or {@link Object#equals(Object)}, which may be expensive or remote for proxied
+ * instances.
+ * <p>
+ * Entries whose key has been garbage collected are purged on the next {@link #put(Object, Object)}.
+ */
+public class WeakIdentityMap<K, V>
+{
+   private final Map<Key, V> map = new ConcurrentHashMap<>();
+   private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+   /**
+    * Associate the given value with the given key, replacing any previous value. <code>null</code> keys are ignored.
+    */
+   public void put(K key, V value)
+   {
+      purge();
+      if (key == null)
+         return;
+      map.put(new Key(key, queue), value);
+   }
+
+   /**
+    * Returns the value associated with the given key, or <code>null</code> if there is none.
+    */
+   public V get(K key)
+   {
+      return map.get(new Key(key, null));
+   }
+
+   /**
+    * Remove and return the value associated with the given key, or <code>null</code> if there is none.
+    */
+   public V remove(K key)
+   {
+      return map.remove(new Key(key, null));
+   }
+
+   /**
+    * Returns the number of entries in this map, including entries whose key has been collected but not yet purged.
+    */
+   public int size()
+   {
+      return map.size();
+   }
+
+   private void purge()
+   {
+      Reference<?> reference;
+      while ((reference = queue.poll()) != null)
+      {
+         map.remove(reference);
+      }
+   }
+
+   private static class Key extends WeakReference<Object>
+   {
+      private final int hash;
+
+      public Key(Object referent, ReferenceQueue<Object> queue)
+      {
+         super(referent, queue);
+         this.hash = System.identityHashCode(referent);
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object obj)
+      {
+         if (this == obj)
+            return true;
+         if (!(obj instanceof Key))
+            return false;
+         Object referent = get();
+         return referent != null && referent == ((Key) obj).get();
+      }
+   }
+}
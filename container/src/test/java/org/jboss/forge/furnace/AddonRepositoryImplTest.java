@@ -8,10 +8,15 @@
 package org.jboss.forge.furnace;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -25,6 +30,7 @@ import org.jboss.forge.furnace.util.OperatingSystemUtils;
 import org.jboss.forge.furnace.versions.SingleVersion;
 import org.jboss.forge.furnace.versions.Version;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
 public class AddonRepositoryImplTest
@@ -104,6 +110,42 @@ public class AddonRepositoryImplTest
       Assert.assertEquals(0, repository.getAddonDependencies(addon).size());
    }
 
+   @Test
+   public void testEnableAllIncrementsVersionOnce() throws Exception
+   {
+      File temp = OperatingSystemUtils.createTempDir();
+      temp.deleteOnExit();
+      MutableAddonRepository repository = AddonRepositoryImpl.forDirectory(new FurnaceImpl(), temp);
+
+      AddonId one = AddonId.from("1", "2");
+      AddonId two = AddonId.from("3", "4");
+      int version = repository.getVersion();
+
+      Assert.assertTrue(repository.enableAll(Arrays.asList(one, two)));
+      Assert.assertTrue(repository.isEnabled(one));
+      Assert.assertTrue(repository.isEnabled(two));
+      Assert.assertEquals(version + 1, repository.getVersion());
+      Assert.assertEquals(1, temp.list().length);
+   }
+
+   @Test
+   public void testEnableKeepsRegistryFilePermissions() throws Exception
+   {
+      File temp = OperatingSystemUtils.createTempDir();
+      temp.deleteOnExit();
+      MutableAddonRepository repository = AddonRepositoryImpl.forDirectory(new FurnaceImpl(), temp);
+      repository.enable(AddonId.from("1", "2"));
+
+      Path registry = new File(temp, "installed.xml").toPath();
+      Assume.assumeTrue(java.nio.file.Files.getFileStore(registry)
+               .supportsFileAttributeView(PosixFileAttributeView.class));
+      Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r--r--");
+      java.nio.file.Files.setPosixFilePermissions(registry, permissions);
+
+      repository.enable(AddonId.from("3", "4"));
+      Assert.assertEquals(permissions, java.nio.file.Files.getPosixFilePermissions(registry));
+   }
+
    @Test
    public void testDeployAddonEntryNoDependenciesOrResources() throws Exception
    {
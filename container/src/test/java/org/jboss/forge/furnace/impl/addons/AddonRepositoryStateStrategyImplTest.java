@@ -8,7 +8,16 @@
 package org.jboss.forge.furnace.impl.addons;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
 
+import org.jboss.forge.furnace.addons.AddonId;
+import org.jboss.forge.furnace.impl.FurnaceImpl;
+import org.jboss.forge.furnace.impl.util.Files;
+import org.jboss.forge.furnace.util.OperatingSystemUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -30,4 +39,52 @@ public class AddonRepositoryStateStrategyImplTest
       Assert.assertNotNull(AddonRepositoryStateStrategyImpl.getXmlRoot(registryFile));
    }
 
+   @Test
+   public void testRegistryChangedOnDiskWithSameSizeIsReread() throws Exception
+   {
+      File dir = OperatingSystemUtils.createTempDir();
+      try
+      {
+         AddonRepositoryStateStrategyImpl strategy = new AddonRepositoryStateStrategyImpl(new FurnaceImpl(), dir);
+         AddonId first = AddonId.from("test:aaa", "1.0.0.Final");
+         AddonId second = AddonId.from("test:bbb", "1.0.0.Final");
+
+         Assert.assertTrue(strategy.enable(first));
+         Assert.assertTrue(strategy.isEnabled(first));
+         Assert.assertEquals(Arrays.asList(first), strategy.listEnabled());
+
+         Path registry = new File(dir, "installed.xml").toPath();
+         rewriteWithSameSize(registry, "test:aaa", "test:bbb");
+
+         Assert.assertFalse(strategy.isEnabled(first));
+         Assert.assertTrue(strategy.isEnabled(second));
+         Assert.assertEquals(Arrays.asList(second), strategy.listEnabled());
+
+         Assert.assertTrue(strategy.disable(second));
+         Assert.assertFalse(strategy.isEnabled(second));
+         Assert.assertEquals(Collections.emptyList(), strategy.listEnabled());
+      }
+      finally
+      {
+         Files.delete(dir, true);
+      }
+   }
+
+   /**
+    * Replace the given text in the given file with text of the same length, as another process would, and move its
+    * modification time forward so that the change is visible regardless of the file system timestamp resolution.
+    */
+   static void rewriteWithSameSize(Path file, String text, String replacement) throws Exception
+   {
+      Assert.assertEquals(text.length(), replacement.length());
+      FileTime modified = java.nio.file.Files.getLastModifiedTime(file);
+      long size = java.nio.file.Files.size(file);
+
+      String contents = new String(java.nio.file.Files.readAllBytes(file), StandardCharsets.UTF_8);
+      Assert.assertTrue(contents.contains(text));
+      java.nio.file.Files.write(file, contents.replace(text, replacement).getBytes(StandardCharsets.UTF_8));
+      java.nio.file.Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 2000));
+
+      Assert.assertEquals(size, java.nio.file.Files.size(file));
+   }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.furnace.impl.addons;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jboss.forge.furnace.addons.AddonId;
+import org.jboss.forge.furnace.impl.FurnaceImpl;
+import org.jboss.forge.furnace.impl.util.Files;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.forge.furnace.util.OperatingSystemUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AddonRepositoryStorageStrategyImplTest
+{
+   private static final AddonId ADDON = AddonId.from("test:addon", "1.0.0.Final");
+
+   private File dir;
+   private AddonRepositoryStorageStrategyImpl strategy;
+
+   @Before
+   public void setUp()
+   {
+      dir = OperatingSystemUtils.createTempDir();
+      strategy = new AddonRepositoryStorageStrategyImpl(new FurnaceImpl().getLockManager(), dir);
+   }
+
+   @After
+   public void tearDown()
+   {
+      Files.delete(dir, true);
+   }
+
+   @Test
+   public void testDescriptorChangedOnDiskWithSameSizeIsReread() throws Exception
+   {
+      deploy(AddonDependencyEntry.create("test:dep_a", "1.0.0.Final"));
+      Assert.assertEquals(Collections.singleton("test:dep_a"), namesOf(strategy.getAddonDependencies(ADDON)));
+
+      AddonRepositoryStateStrategyImplTest.rewriteWithSameSize(strategy.getAddonDescriptor(ADDON).toPath(),
+               "test:dep_a", "test:dep_b");
+      Assert.assertEquals(Collections.singleton("test:dep_b"), namesOf(strategy.getAddonDependencies(ADDON)));
+   }
+
+   @Test
+   public void testRedeployAfterUndeployIsReread() throws Exception
+   {
+      deploy(AddonDependencyEntry.create("test:dep_a", "1.0.0.Final"));
+      Assert.assertEquals(Collections.singleton("test:dep_a"), namesOf(strategy.getAddonDependencies(ADDON)));
+
+      Assert.assertTrue(strategy.undeploy(ADDON));
+      Assert.assertFalse(strategy.isDeployed(ADDON));
+
+      deploy(AddonDependencyEntry.create("test:dep_b", "1.0.0.Final"),
+               AddonDependencyEntry.create("test:dep_c", "1.0.0.Final"));
+      Assert.assertEquals(new HashSet<>(Arrays.asList("test:dep_b", "test:dep_c")),
+               namesOf(strategy.getAddonDependencies(ADDON)));
+   }
+
+   private void deploy(AddonDependencyEntry... dependencies)
+   {
+      Assert.assertTrue(strategy.deploy(ADDON, Arrays.asList(dependencies), Collections.<File> emptyList()));
+   }
+
+   private static Set<String> namesOf(Set<AddonDependencyEntry> dependencies)
+   {
+      Set<String> result = new HashSet<>();
+      for (AddonDependencyEntry dependency : dependencies)
+      {
+         result.add(dependency.getName());
+      }
+      return result;
+   }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.furnace.impl.addons;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jboss.forge.furnace.addons.Addon;
+import org.jboss.forge.furnace.addons.AddonDependency;
+import org.jboss.forge.furnace.addons.AddonId;
+import org.jboss.forge.furnace.impl.FurnaceImpl;
+import org.jboss.forge.furnace.impl.util.Files;
+import org.jboss.forge.furnace.util.Addons;
+import org.jboss.forge.furnace.util.OperatingSystemUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AddonStateManagerTest
+{
+   private File dir;
+   private AddonStateManager stateManager;
+   private AddonImpl addon;
+
+   @Before
+   public void setUp()
+   {
+      dir = OperatingSystemUtils.createTempDir();
+      FurnaceImpl furnace = new FurnaceImpl();
+      stateManager = new AddonStateManager(furnace.getLockManager());
+      addon = new AddonImpl(stateManager, AddonId.from("test:addon", "1.0.0.Final"));
+      stateManager.setState(addon, new AddonState(Collections.<AddonDependency> emptySet(),
+               AddonRepositoryImpl.forDirectory(furnace, dir), getClass().getClassLoader()));
+   }
+
+   @After
+   public void tearDown()
+   {
+      stateManager.dispose();
+      Files.delete(dir, true);
+   }
+
+   @Test
+   public void testWaitUntilStartedWakesWhenAddonStarts() throws Exception
+   {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      stateManager.setHandles(addon, future, null);
+      Assert.assertTrue(addon.getStatus().isLoaded());
+      Assert.assertFalse(addon.getStatus().isStarted());
+
+      Waiter waiter = new Waiter(() -> Addons.waitUntilStarted(addon, 10, TimeUnit.SECONDS));
+      waiter.assertBlocked();
+
+      future.complete(null);
+      stateManager.finishedStarting(addon);
+      waiter.assertWokenPromptly();
+      Assert.assertTrue(addon.getStatus().isStarted());
+   }
+
+   @Test
+   public void testWaitUntilStoppedWakesWhenAddonStops() throws Exception
+   {
+      stateManager.setHandles(addon, CompletableFuture.<Void> completedFuture(null), null);
+      stateManager.finishedStarting(addon);
+      Assert.assertTrue(addon.getStatus().isStarted());
+
+      Waiter waiter = new Waiter(() -> Addons.waitUntilStopped(addon, 10, TimeUnit.SECONDS));
+      waiter.assertBlocked();
+
+      stateManager.cancel(addon);
+      waiter.assertWokenPromptly();
+      Assert.assertFalse(addon.getStatus().isStarted());
+   }
+
+   private interface Wait
+   {
+      void await() throws TimeoutException;
+   }
+
+   /**
+    * Runs a {@link Wait} on its own thread, recording when it returned and whether it failed.
+    */
+   private static class Waiter
+   {
+      private final Thread thread;
+      private volatile Throwable failure;
+
+      Waiter(Wait wait)
+      {
+         thread = new Thread(() -> {
+            try
+            {
+               wait.await();
+            }
+            catch (Throwable e)
+            {
+               failure = e;
+            }
+         });
+         thread.start();
+      }
+
+      void assertBlocked() throws InterruptedException
+      {
+         thread.join(200);
+         Assert.assertTrue("Waiter returned before the status changed", thread.isAlive());
+      }
+
+      void assertWokenPromptly() throws InterruptedException
+      {
+         long start = System.nanoTime();
+         thread.join(TimeUnit.SECONDS.toMillis(5));
+         Assert.assertFalse("Waiter was not woken by the status change", thread.isAlive());
+         Assert.assertNull(failure);
+         Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+      }
+   }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.furnace.impl.addons;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FileSystemDirtyCheckerTest
+{
+   @Test
+   public void testListenerIsNotifiedOfEveryChange() throws Exception
+   {
+      File directory = Files.createTempDirectory("furnace-dirty-checker").toFile();
+      directory.deleteOnExit();
+      try (FileSystemDirtyChecker checker = new FileSystemDirtyChecker(directory))
+      {
+         CountDownLatch first = new CountDownLatch(1);
+         CountDownLatch second = new CountDownLatch(2);
+         Assert.assertTrue(checker.setChangeListener(() -> {
+            first.countDown();
+            second.countDown();
+         }));
+         Assert.assertFalse(checker.isDirty());
+
+         new File(directory, "first.jar").createNewFile();
+         Assert.assertTrue(first.await(30, TimeUnit.SECONDS));
+         Assert.assertTrue(checker.isDirty());
+         checker.resetDirtyStatus();
+         Assert.assertFalse(checker.isDirty());
+
+         new File(directory, "second.jar").createNewFile();
+         Assert.assertTrue(second.await(30, TimeUnit.SECONDS));
+         Assert.assertTrue(checker.isDirty());
+      }
+   }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.furnace.impl.addons;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VersionDirtyCheckerTest
+{
+   @Test
+   public void testNotifiesOnlyWhenSupported() throws Exception
+   {
+      int[] version = { 1 };
+      VersionDirtyChecker polling = new VersionDirtyChecker(() -> version[0]);
+      Assert.assertFalse(polling.setChangeListener(() -> {
+      }));
+
+      CountDownLatch latch = new CountDownLatch(1);
+      VersionDirtyChecker notifying = new VersionDirtyChecker(() -> version[0], true);
+      Assert.assertTrue(notifying.setChangeListener(latch::countDown));
+      Assert.assertTrue(notifying.isDirty());
+      notifying.resetDirtyStatus();
+      Assert.assertFalse(notifying.isDirty());
+
+      version[0]++;
+      notifying.versionChanged();
+      Assert.assertEquals(0, latch.getCount());
+      Assert.assertTrue(notifying.isDirty());
+   }
+}
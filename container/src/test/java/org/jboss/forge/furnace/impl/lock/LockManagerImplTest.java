@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.furnace.impl.lock;
+
+import org.jboss.forge.furnace.lock.LockManager;
+import org.jboss.forge.furnace.lock.LockMode;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LockManagerImplTest
+{
+   @Test
+   public void testStripedLockDoesNotBlockContainerReaders() throws Exception
+   {
+      final LockManagerImpl manager = new LockManagerImpl();
+      final LockManager stripe = manager.getLockManager("repository");
+      Assert.assertSame(stripe, manager.getLockManager("repository"));
+
+      Boolean result = stripe.performLocked(LockMode.WRITE, () -> {
+         Thread reader = new Thread(() -> manager.performLocked(LockMode.READ, () -> null));
+         reader.start();
+         reader.join(10000);
+         return !reader.isAlive();
+      });
+      Assert.assertTrue(result);
+      Assert.assertEquals(1, manager.getStatistics().get("repository").getAcquisitions());
+      Assert.assertEquals(2, manager.getStatistics().get("furnace").getAcquisitions());
+   }
+
+   @Test(expected = DeadlockError.class)
+   public void testLockOrderInversionIsDetected() throws Exception
+   {
+      LockManagerImpl manager = new LockManagerImpl();
+      LockManager first = manager.getLockManager("first");
+      LockManager second = manager.getLockManager("second");
+
+      first.performLocked(LockMode.READ, () -> second.performLocked(LockMode.READ, () -> null));
+      second.performLocked(LockMode.READ, () -> first.performLocked(LockMode.READ, () -> null));
+   }
+
+   @Test(expected = DeadlockError.class)
+   public void testContainerWriteLockCannotBeObtainedFromStripe() throws Exception
+   {
+      LockManagerImpl manager = new LockManagerImpl();
+      manager.getLockManager("repository").performLocked(LockMode.READ,
+               () -> manager.performLocked(LockMode.WRITE, () -> null));
+   }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.impl.modules;
+
+import org.jboss.forge.furnace.addons.Addon;
+import org.jboss.forge.furnace.addons.AddonId;
+import org.jboss.forge.furnace.impl.addons.AddonImpl;
+import org.jboss.forge.furnace.impl.addons.AddonStateManager;
+import org.jboss.forge.furnace.mock.MockLockManager;
+import org.jboss.modules.ModuleIdentifier;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AddonModuleIdentifierCacheTest
+{
+   private final AddonStateManager stateManager = new AddonStateManager(new MockLockManager());
+
+   @Test
+   public void testLookupInBothDirections()
+   {
+      AddonModuleIdentifierCache cache = new AddonModuleIdentifierCache();
+      Addon addon = new AddonImpl(stateManager, AddonId.from("org.example:addon", "1.0.0.Final"));
+
+      ModuleIdentifier id = cache.getModuleId(addon);
+      Assert.assertSame(id, cache.getModuleId(addon));
+      Assert.assertTrue(id.getName().startsWith("org.example.addon"));
+      Assert.assertSame(addon, cache.getAddon(id));
+
+      cache.clear(addon);
+      Assert.assertNull(cache.getAddon(id));
+      Assert.assertNotEquals(id, cache.getModuleId(addon));
+   }
+}
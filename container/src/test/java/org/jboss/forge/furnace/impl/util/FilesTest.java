@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.impl.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FilesTest
+{
+   private File dir;
+
+   @Before
+   public void setUp() throws IOException
+   {
+      dir = java.nio.file.Files.createTempDirectory("furnace-files").toFile();
+   }
+
+   @After
+   public void tearDown()
+   {
+      Files.delete(dir, true);
+   }
+
+   @Test
+   public void testLinkOrCopyFile() throws IOException
+   {
+      File source = write(new File(dir, "source.jar"), "contents");
+      File target = new File(dir, "slot/source.jar");
+
+      Files.linkOrCopyFile(source, target, true);
+      Assert.assertEquals("contents", read(target));
+   }
+
+   @Test
+   public void testLinkOrCopyFileOverwritesExistingFile() throws IOException
+   {
+      File source = write(new File(dir, "source.jar"), "contents");
+      File target = write(new File(dir, "target.jar"), "old");
+
+      Files.linkOrCopyFile(source, target, true);
+      Assert.assertEquals("contents", read(target));
+      Assert.assertEquals("contents", read(source));
+   }
+
+   @Test
+   public void testRelinkKeepsSourceContents() throws IOException
+   {
+      File source = write(new File(dir, "source.jar"), "contents");
+      File target = new File(dir, "slot/source.jar");
+
+      Files.linkOrCopyFile(source, target, true);
+      Files.linkOrCopyFile(source, target, true);
+      Assert.assertEquals("contents", read(source));
+      Assert.assertEquals("contents", read(target));
+   }
+
+   @Test
+   public void testCopyOverLinkDoesNotWriteThrough() throws IOException
+   {
+      File source = write(new File(dir, "source.jar"), "contents");
+      File target = new File(dir, "slot/source.jar");
+      Files.linkOrCopyFile(source, target, true);
+
+      File other = write(new File(dir, "other.jar"), "other");
+      Assert.assertFalse(Files.linkOrCopyFile(other, target, false));
+      Assert.assertEquals("other", read(target));
+      Assert.assertEquals("contents", read(source));
+      Assert.assertEquals(1, new File(dir, "slot").list().length);
+   }
+
+   private static File write(File file, String contents) throws IOException
+   {
+      file.getParentFile().mkdirs();
+      java.nio.file.Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+      return file;
+   }
+
+   private static String read(File file) throws IOException
+   {
+      return new String(java.nio.file.Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+   }
+}
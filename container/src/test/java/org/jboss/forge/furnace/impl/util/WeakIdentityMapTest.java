@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.impl.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WeakIdentityMapTest
+{
+   @Test
+   public void testKeysAreComparedByIdentity()
+   {
+      WeakIdentityMap<String, String> map = new WeakIdentityMap<>();
+      String key = new String("key");
+      String equalKey = new String("key");
+
+      map.put(key, "value");
+      Assert.assertEquals("value", map.get(key));
+      Assert.assertNull(map.get(equalKey));
+      Assert.assertNull(map.remove(equalKey));
+
+      Assert.assertEquals("value", map.remove(key));
+      Assert.assertNull(map.get(key));
+      Assert.assertEquals(0, map.size());
+   }
+
+   @Test
+   public void testNullKeysAreIgnored()
+   {
+      WeakIdentityMap<String, String> map = new WeakIdentityMap<>();
+      map.put(null, "value");
+      Assert.assertNull(map.get(null));
+      Assert.assertEquals(0, map.size());
+   }
+}
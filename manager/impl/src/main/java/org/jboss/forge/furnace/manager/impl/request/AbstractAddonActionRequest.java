@@ -49,25 +49,31 @@ public abstract class AbstractAddonActionRequest implements AddonActionRequest
 
    @Override
    public final void perform()
+   {
+      performAndAwaitConfigurationScan(furnace, new Runnable()
+      {
+         @Override
+         public void run()
+         {
+            execute();
+         }
+      });
+   }
+
+   /**
+    * Run the given task, then wait until the given {@link Furnace} has scanned its configuration, so that the changes
+    * made by the task have been applied when this method returns.
+    */
+   static void performAndAwaitConfigurationScan(Furnace furnace, Runnable task)
    {
       ConfigurationScanListener listener = new ConfigurationScanListener();
       ListenerRegistration<ContainerLifecycleListener> reg = furnace.addContainerLifecycleListener(listener);
       try
       {
-         execute();
+         task.run();
          if (!furnace.getStatus().isStopped())
          {
-            while (furnace.getStatus().isStarting() || !listener.isConfigurationScanned())
-            {
-               try
-               {
-                  Thread.sleep(100);
-               }
-               catch (InterruptedException e)
-               {
-                  throw new RuntimeException(e);
-               }
-            }
+            listener.awaitConfigurationScan(furnace);
          }
       }
       finally
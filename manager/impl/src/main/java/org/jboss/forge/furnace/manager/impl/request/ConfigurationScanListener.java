@@ -6,6 +6,9 @@
  */
 package org.jboss.forge.furnace.manager.impl.request;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.jboss.forge.furnace.Furnace;
 import org.jboss.forge.furnace.exception.ContainerException;
 import org.jboss.forge.furnace.spi.ContainerLifecycleListener;
@@ -15,7 +18,7 @@ import org.jboss.forge.furnace.spi.ContainerLifecycleListener;
  */
 public class ConfigurationScanListener implements ContainerLifecycleListener
 {
-   private boolean configurationScanned = false;
+   private final CountDownLatch configurationScanned = new CountDownLatch(1);
 
    @Override
    public void beforeStart(Furnace furnace) throws ContainerException
@@ -30,7 +33,7 @@ public class ConfigurationScanListener implements ContainerLifecycleListener
    @Override
    public void afterConfigurationScan(Furnace furnace) throws ContainerException
    {
-      configurationScanned = true;
+      configurationScanned.countDown();
    }
 
    @Override
@@ -50,7 +53,32 @@ public class ConfigurationScanListener implements ContainerLifecycleListener
 
    public boolean isConfigurationScanned()
    {
-      return configurationScanned;
+      return configurationScanned.getCount() == 0;
+   }
+
+   /**
+    * Block until the configuration has been scanned and the given {@link Furnace} is no longer starting. Returns early
+    * if the given {@link Furnace} is stopped in the meantime.
+    */
+   public void awaitConfigurationScan(Furnace furnace)
+   {
+      try
+      {
+         while (!configurationScanned.await(100, TimeUnit.MILLISECONDS))
+         {
+            if (furnace.getStatus().isStopped())
+               return;
+         }
+
+         while (furnace.getStatus().isStarting())
+         {
+            Thread.sleep(100);
+         }
+      }
+      catch (InterruptedException e)
+      {
+         throw new RuntimeException(e);
+      }
    }
 
 }
@@ -7,12 +7,21 @@
 
 package org.jboss.forge.furnace.manager.impl.request;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 
+import org.jboss.forge.furnace.Furnace;
+import org.jboss.forge.furnace.addons.AddonId;
+import org.jboss.forge.furnace.lock.LockMode;
 import org.jboss.forge.furnace.manager.request.AddonActionRequest;
 import org.jboss.forge.furnace.manager.request.InstallRequest;
 import org.jboss.forge.furnace.manager.spi.AddonInfo;
+import org.jboss.forge.furnace.repositories.MutableAddonRepository;
 
 /**
  * Implementation of the {@link InstallRequest} interface
@@ -31,13 +40,116 @@ class InstallRequestImpl implements InstallRequest
       this.actions = Collections.unmodifiableList(actions);
    }
 
+   /**
+    * Perform all actions as a single batch when possible: every addon is deployed first, then the deployed addons are
+    * enabled with one {@link MutableAddonRepository#enableAll(java.util.Collection)} call per repository, and the
+    * container configuration is scanned only once. Otherwise, each action is performed in turn.
+    */
    @Override
    public void perform()
+   {
+      final List<AbstractAddonActionRequest> requests = new ArrayList<>();
+      final Furnace furnace = collectRequests(requests);
+      if (furnace == null)
+      {
+         for (AddonActionRequest action : actions)
+         {
+            action.perform();
+         }
+      }
+      else
+      {
+         AbstractAddonActionRequest.performAndAwaitConfigurationScan(furnace, new Runnable()
+         {
+            @Override
+            public void run()
+            {
+               furnace.getLockManager().performLocked(LockMode.WRITE, new Callable<Object>()
+               {
+                  @Override
+                  public Object call() throws Exception
+                  {
+                     execute(requests);
+                     return null;
+                  }
+               });
+            }
+         });
+      }
+   }
+
+   private static void execute(List<AbstractAddonActionRequest> requests)
+   {
+      Map<MutableAddonRepository, List<AddonId>> pending = new LinkedHashMap<>();
+      for (AbstractAddonActionRequest request : requests)
+      {
+         if (request instanceof DeployRequestImpl)
+         {
+            ((DeployRequestImpl) request).deploy(request.repository);
+            List<AddonId> addons = pending.get(request.repository);
+            if (addons == null)
+            {
+               addons = new ArrayList<>();
+               pending.put(request.repository, addons);
+            }
+            addons.add(request.getRequestedAddonInfo().getAddon());
+         }
+         else
+         {
+            // keep the order of any other change relative to the deployed addons
+            enableAll(pending);
+            request.execute();
+         }
+      }
+      enableAll(pending);
+   }
+
+   private static void enableAll(Map<MutableAddonRepository, List<AddonId>> pending)
+   {
+      for (Entry<MutableAddonRepository, List<AddonId>> entry : pending.entrySet())
+      {
+         entry.getKey().enableAll(entry.getValue());
+      }
+      pending.clear();
+   }
+
+   /**
+    * Flatten the actions of this request into the given {@link List}. Returns the {@link Furnace} they all share, or
+    * <code>null</code> if they cannot be performed as a single batch.
+    */
+   private Furnace collectRequests(List<AbstractAddonActionRequest> requests)
    {
       for (AddonActionRequest action : actions)
       {
-         action.perform();
+         if (!collectRequests(action, requests))
+            return null;
+      }
+
+      Furnace result = null;
+      for (AbstractAddonActionRequest request : requests)
+      {
+         if (result == null)
+            result = request.furnace;
+         else if (result != request.furnace)
+            return null;
+      }
+      return result;
+   }
+
+   private static boolean collectRequests(AddonActionRequest action, List<AbstractAddonActionRequest> requests)
+   {
+      if (action instanceof UpdateRequestImpl)
+      {
+         UpdateRequestImpl update = (UpdateRequestImpl) action;
+         return collectRequests(update.getRemoveRequest(), requests)
+                  && collectRequests(update.getDeployRequest(), requests);
+      }
+      else if (action instanceof AbstractAddonActionRequest)
+      {
+         requests.add((AbstractAddonActionRequest) action);
+         return true;
       }
+      return false;
    }
 
    @Override
@@ -31,6 +31,7 @@ import org.jboss.forge.furnace.manager.request.InstallRequest;
 import org.jboss.forge.furnace.manager.request.UpdateRequest;
 import org.jboss.forge.furnace.manager.spi.AddonDependencyResolver;
 import org.jboss.forge.furnace.manager.spi.AddonInfo;
+import org.jboss.forge.furnace.repositories.AddonRepository;
 import org.jboss.forge.furnace.repositories.AddonRepositoryMode;
 import org.jboss.forge.furnace.util.OperatingSystemUtils;
 import org.jboss.forge.furnace.versions.SingleVersion;
@@ -161,6 +162,20 @@ public class AddonManagerInstallTest
       Assert.assertThat((List<DeployRequest>) actions, everyItem(isA(DeployRequest.class)));
    }
 
+   @Test
+   public void testInstallEnablesAllAddonsAtOnce() throws IOException
+   {
+      AddonRepository mutableRepository = furnace.getRepositories().get(0);
+      int version = mutableRepository.getVersion();
+
+      InstallRequest install = addonManager.install(AddonId.from("test:one_dep", "1.0.0.Final"));
+      install.perform();
+
+      Assert.assertEquals(version + 1, mutableRepository.getVersion());
+      Assert.assertTrue(mutableRepository.isEnabled(AddonId.from("test:one_dep", "1.0.0.Final")));
+      Assert.assertTrue(mutableRepository.isEnabled(AddonId.from("test:no_dep", "1.0.0.Final")));
+   }
+
    @SuppressWarnings("unchecked")
    @Test
    public void testParentExclusion() throws IOException
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.classloader.mock.direct;
+
+import org.jboss.forge.classloader.mock.MockResult;
+
+public interface MockDirectService
+{
+   int add(int left, int right);
+
+   double scale(long value, double factor);
+
+   String echo(String value);
+
+   String[] split(String value);
+
+   void fail(String message);
+
+   MockResult getResult();
+
+   int getContextClassLoaderIdentity();
+}
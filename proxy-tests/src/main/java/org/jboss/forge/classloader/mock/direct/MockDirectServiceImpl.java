@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.classloader.mock.direct;
+
+import org.jboss.forge.classloader.mock.MockResult;
+
+public class MockDirectServiceImpl implements MockDirectService
+{
+   @Override
+   public int add(int left, int right)
+   {
+      return left + right;
+   }
+
+   @Override
+   public double scale(long value, double factor)
+   {
+      return value * factor;
+   }
+
+   @Override
+   public String echo(String value)
+   {
+      return value;
+   }
+
+   @Override
+   public String[] split(String value)
+   {
+      return value.split(",");
+   }
+
+   @Override
+   public void fail(String message)
+   {
+      throw new IllegalStateException(message);
+   }
+
+   @Override
+   public MockResult getResult()
+   {
+      return new MockResult();
+   }
+
+   @Override
+   public int getContextClassLoaderIdentity()
+   {
+      return System.identityHashCode(Thread.currentThread().getContextClassLoader());
+   }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.proxy.classloader;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.forge.arquillian.services.LocalServices;
+import org.jboss.forge.classloader.mock.MockResult;
+import org.jboss.forge.classloader.mock.Result;
+import org.jboss.forge.classloader.mock.direct.MockDirectService;
+import org.jboss.forge.classloader.mock.direct.MockDirectServiceImpl;
+import org.jboss.forge.furnace.addons.AddonId;
+import org.jboss.forge.furnace.addons.AddonRegistry;
+import org.jboss.forge.furnace.proxy.ClassLoaderAdapterBuilder;
+import org.jboss.forge.furnace.proxy.ClassLoaderAdapterEngine;
+import org.jboss.forge.furnace.proxy.DirectDispatchProxy;
+import org.jboss.forge.furnace.proxy.Proxies;
+import org.jboss.forge.furnace.repositories.AddonDependencyEntry;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Exercises the {@link ClassLoaderAdapterEngine#DIRECT} engine between two addons, where the service interface is
+ * shared but the calling and delegate {@link ClassLoader}s differ.
+ */
+@RunWith(Arquillian.class)
+public class ClassLoaderAdapterDirectDispatchAddonTest
+{
+   @Deployment(order = 3)
+   public static AddonArchive getDeployment()
+   {
+      AddonArchive archive = ShrinkWrap.create(AddonArchive.class)
+               .addAsAddonDependencies(
+                        AddonDependencyEntry.create("dep", "1")
+               )
+               .addAsLocalServices(ClassLoaderAdapterDirectDispatchAddonTest.class);
+
+      return archive;
+   }
+
+   @Deployment(name = "dep,1", testable = false, order = 2)
+   public static AddonArchive getDeploymentDep1()
+   {
+      AddonArchive archive = ShrinkWrap.create(AddonArchive.class)
+               .addClasses(MockDirectService.class, MockDirectServiceImpl.class, MockResult.class, Result.class);
+
+      return archive;
+   }
+
+   @Test
+   public void testDirectCallRunsWithDelegateContextClassLoader() throws Exception
+   {
+      AddonRegistry registry = LocalServices.getFurnace(getClass().getClassLoader())
+               .getAddonRegistry();
+      ClassLoader thisLoader = ClassLoaderAdapterDirectDispatchAddonTest.class.getClassLoader();
+      ClassLoader dep1Loader = registry.getAddon(AddonId.from("dep", "1")).getClassLoader();
+      Assert.assertNotSame(thisLoader, dep1Loader);
+
+      MockDirectService service = enhance(thisLoader, dep1Loader);
+      Assert.assertTrue(service instanceof DirectDispatchProxy);
+
+      Thread thread = Thread.currentThread();
+      ClassLoader previous = thread.getContextClassLoader();
+      try
+      {
+         thread.setContextClassLoader(thisLoader);
+         Assert.assertEquals(System.identityHashCode(dep1Loader), service.getContextClassLoaderIdentity());
+         Assert.assertSame(thisLoader, thread.getContextClassLoader());
+
+         Assert.assertEquals(5, service.add(2, 3));
+         Assert.assertSame(thisLoader, thread.getContextClassLoader());
+
+         try
+         {
+            service.fail("expected");
+            Assert.fail("Exception should have been thrown");
+         }
+         catch (IllegalStateException e)
+         {
+            Assert.assertEquals("expected", e.getMessage());
+         }
+         Assert.assertSame(thisLoader, thread.getContextClassLoader());
+      }
+      finally
+      {
+         thread.setContextClassLoader(previous);
+      }
+   }
+
+   @Test
+   public void testNonDirectMethodIsDispatchedAcrossLoaders() throws Exception
+   {
+      AddonRegistry registry = LocalServices.getFurnace(getClass().getClassLoader())
+               .getAddonRegistry();
+      ClassLoader thisLoader = ClassLoaderAdapterDirectDispatchAddonTest.class.getClassLoader();
+      ClassLoader dep1Loader = registry.getAddon(AddonId.from("dep", "1")).getClassLoader();
+
+      MockDirectService service = enhance(thisLoader, dep1Loader);
+      Assert.assertTrue(service instanceof DirectDispatchProxy);
+
+      /*
+       * getResult() is not a direct method, so it goes through the ClassLoaderAdapterCallback, which passes the result
+       * through unproxied because its type is shared with the calling addon.
+       */
+      MockResult result = service.getResult();
+      Assert.assertNotNull(result);
+      Assert.assertFalse(Proxies.isForgeProxy(result));
+      Assert.assertSame(dep1Loader, result.getClass().getClassLoader());
+      Assert.assertSame(MockResult.class, result.getClass());
+      Assert.assertEquals(Object.class, result.getValue());
+   }
+
+   private static MockDirectService enhance(ClassLoader callingLoader, ClassLoader delegateLoader) throws Exception
+   {
+      Object delegate = delegateLoader.loadClass(MockDirectServiceImpl.class.getName()).newInstance();
+      return (MockDirectService) ClassLoaderAdapterBuilder.callingLoader(callingLoader).delegateLoader(delegateLoader)
+               .engine(ClassLoaderAdapterEngine.DIRECT).enhance(delegate, MockDirectService.class);
+   }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.proxy.classloader;
+
+import org.jboss.forge.classloader.mock.MockResult;
+import org.jboss.forge.classloader.mock.direct.MockDirectService;
+import org.jboss.forge.classloader.mock.direct.MockDirectServiceImpl;
+import org.jboss.forge.furnace.proxy.ClassLoaderAdapterBuilder;
+import org.jboss.forge.furnace.proxy.ClassLoaderAdapterEngine;
+import org.jboss.forge.furnace.proxy.DirectDispatchProxy;
+import org.jboss.forge.furnace.proxy.Proxies;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ClassLoaderAdapterDirectDispatchTest
+{
+   @Test
+   public void testDirectDispatchProxy() throws Exception
+   {
+      ClassLoader loader = ClassLoaderAdapterDirectDispatchTest.class.getClassLoader();
+      MockDirectServiceImpl original = new MockDirectServiceImpl();
+      MockDirectService service = ClassLoaderAdapterBuilder.callingLoader(loader).delegateLoader(loader)
+               .engine(ClassLoaderAdapterEngine.DIRECT).enhance(original, MockDirectService.class);
+
+      Assert.assertTrue(service instanceof DirectDispatchProxy);
+      Assert.assertTrue(Proxies.isForgeProxy(service));
+      Assert.assertTrue(Proxies.isProxyType(service.getClass()));
+      Assert.assertSame(original, Proxies.unwrap(service));
+      Assert.assertEquals(MockDirectService.class.getName(), Proxies.unwrapProxyClassName(service.getClass()));
+
+      Assert.assertEquals(5, service.add(2, 3));
+      Assert.assertEquals(5.0, service.scale(2L, 2.5), 0.0);
+      Assert.assertEquals("value", service.echo("value"));
+      Assert.assertArrayEquals(new String[] { "a", "b" }, service.split("a,b"));
+      Assert.assertEquals(original.hashCode(), service.hashCode());
+      Assert.assertEquals(original.toString(), service.toString());
+
+      MockResult result = service.getResult();
+      Assert.assertNotNull(result);
+      Assert.assertEquals(Object.class, result.getValue());
+
+      try
+      {
+         service.fail("expected");
+         Assert.fail("Exception should have been thrown");
+      }
+      catch (IllegalStateException e)
+      {
+         Assert.assertEquals("expected", e.getMessage());
+      }
+   }
+
+   @Test
+   public void testDirectDispatchFallsBackForClassHierarchy() throws Exception
+   {
+      ClassLoader loader = ClassLoaderAdapterDirectDispatchTest.class.getClassLoader();
+      MockResult result = ClassLoaderAdapterBuilder.callingLoader(loader).delegateLoader(loader)
+               .engine(ClassLoaderAdapterEngine.DIRECT).enhance(new MockResult(), MockResult.class);
+
+      Assert.assertFalse(DirectDispatchProxy.class.isInstance(result));
+      Assert.assertTrue(Proxies.isForgeProxy(result));
+      Assert.assertEquals(Object.class, result.getValue());
+   }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.jboss.forge.furnace.proxy.classloader.collections;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.forge.arquillian.archive.AddonArchive;
+import org.jboss.forge.arquillian.services.LocalServices;
+import org.jboss.forge.classloader.mock.collections.Profile;
+import org.jboss.forge.classloader.mock.collections.ProfileFactory;
+import org.jboss.forge.classloader.mock.collections.ProfileManager;
+import org.jboss.forge.classloader.mock.collections.ProfileManagerImpl;
+import org.jboss.forge.furnace.addons.AddonId;
+import org.jboss.forge.furnace.addons.AddonRegistry;
+import org.jboss.forge.furnace.proxy.ClassLoaderAdapterBuilder;
+import org.jboss.forge.furnace.proxy.ClassLoaderAdapterMarshalling;
+import org.jboss.forge.furnace.proxy.Proxies;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(Arquillian.class)
+public class CLACCopiedCollectionsTest
+{
+   @Deployment(order = 3)
+   public static AddonArchive getDeployment()
+   {
+      AddonArchive archive = ShrinkWrap.create(AddonArchive.class)
+               .addBeansXML()
+               .addClasses(Profile.class, ProfileManager.class, ProfileFactory.class)
+               .addAsLocalServices(CLACCopiedCollectionsTest.class);
+
+      return archive;
+   }
+
+   @Deployment(name = "dep,1", testable = false, order = 2)
+   public static AddonArchive getDeploymentDep1()
+   {
+      AddonArchive archive = ShrinkWrap.create(AddonArchive.class)
+               .addClasses(Profile.class, ProfileManager.class, ProfileManagerImpl.class, ProfileFactory.class)
+               .addBeansXML();
+
+      return archive;
+   }
+
+   @Test
+   public void testMapResultIsProxiedByDefault() throws Exception
+   {
+      ProfileFactory factory = (ProfileFactory) ClassLoaderAdapterBuilder.callingLoader(getClass().getClassLoader())
+               .delegateLoader(getDepLoader()).enhance(createForeignFactory());
+      ProfileManager manager = factory.createProfileManager();
+
+      Map<String, Profile> profiles = manager.getProfiles();
+      Assert.assertTrue(Proxies.isForgeProxy(profiles));
+      Assert.assertEquals("demo", profiles.get("demo").getName());
+   }
+
+   @Test
+   public void testMapResultIsCopied() throws Exception
+   {
+      ProfileFactory factory = (ProfileFactory) ClassLoaderAdapterBuilder.callingLoader(getClass().getClassLoader())
+               .delegateLoader(getDepLoader()).marshalling(ClassLoaderAdapterMarshalling.COPY)
+               .enhance(createForeignFactory());
+      ProfileManager manager = factory.createProfileManager();
+
+      Map<String, Profile> profiles = manager.getProfiles();
+      Assert.assertFalse(Proxies.isForgeProxy(profiles));
+      Assert.assertEquals(LinkedHashMap.class, profiles.getClass());
+
+      Profile profile = profiles.get("demo");
+      Assert.assertTrue(Proxies.isForgeProxy(profile));
+      Assert.assertEquals("demo", profile.getName());
+   }
+
+   private ClassLoader getDepLoader()
+   {
+      AddonRegistry registry = LocalServices.getFurnace(getClass().getClassLoader()).getAddonRegistry();
+      return registry.getAddon(AddonId.from("dep", "1")).getClassLoader();
+   }
+
+   private Object createForeignFactory() throws Exception
+   {
+      return getDepLoader().loadClass(ProfileFactory.class.getName()).newInstance();
+   }
+}
@@ -6,10 +6,10 @@
  */
 package org.jboss.forge.furnace.proxy;
 
-import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
+import org.jboss.forge.furnace.util.Assert;
 import org.jboss.forge.furnace.util.Callables;
 
 /**
@@ -21,7 +21,9 @@ public class ClassLoaderAdapterBuilder implements ClassLoaderAdapterBuilderCalli
 {
    private ClassLoader callingLoader;
    private ClassLoader delegateLoader;
-   private Callable<Set<ClassLoader>> whitelist = Callables.returning((Set<ClassLoader>) new HashSet<ClassLoader>());
+   private Callable<Set<ClassLoader>> whitelist = new ClassLoaderWhitelist();
+   private ClassLoaderAdapterEngine engine = ClassLoaderAdapterEngine.JAVASSIST;
+   private ClassLoaderAdapterMarshalling marshalling = ClassLoaderAdapterMarshalling.PROXY;
 
    public static ClassLoaderAdapterBuilderCallingLoader callingLoader(ClassLoader callingLoader)
    {
@@ -51,16 +53,32 @@ public class ClassLoaderAdapterBuilder implements ClassLoaderAdapterBuilderCalli
       return this;
    }
 
+   @Override
+   public ClassLoaderAdapterBuilderWhitelist engine(ClassLoaderAdapterEngine engine)
+   {
+      Assert.notNull(engine, "Engine must not be null.");
+      this.engine = engine;
+      return this;
+   }
+
+   @Override
+   public ClassLoaderAdapterBuilderWhitelist marshalling(ClassLoaderAdapterMarshalling marshalling)
+   {
+      Assert.notNull(marshalling, "Marshalling must not be null.");
+      this.marshalling = marshalling;
+      return this;
+   }
+
    @Override
    public <T> T enhance(T delegate)
    {
-      return ClassLoaderAdapterCallback.enhance(whitelist, callingLoader, delegateLoader, delegate);
+      return ClassLoaderAdapterCallback.enhance(engine, marshalling, whitelist, callingLoader, delegateLoader, delegate);
    }
 
    @Override
    public <T> T enhance(T delegate, Class<?>... types)
    {
-      return ClassLoaderAdapterCallback.enhance(whitelist, callingLoader, delegateLoader, delegate, types);
+      return ClassLoaderAdapterCallback.enhance(engine, marshalling, whitelist, callingLoader, delegateLoader, delegate, types);
    }
 
 }
@@ -17,6 +17,10 @@ public interface ClassLoaderAdapterBuilderDelegateLoader extends ClassLoaderAdap
 {
    ClassLoaderAdapterBuilderWhitelist whitelist(Set<ClassLoader> whitelist);
 
+   /**
+    * Use the given callback to retrieve the whitelisted {@link ClassLoader} instances. A {@link ClassLoaderWhitelist}
+    * is read without calling back into the provider of the whitelist.
+    */
    ClassLoaderAdapterBuilderWhitelist whitelist(Callable<Set<ClassLoader>> whitelist);
 
 }
@@ -12,6 +12,36 @@ package org.jboss.forge.furnace.proxy;
  */
 public interface ClassLoaderAdapterBuilderWhitelist
 {
+   /**
+    * Select the {@link ClassLoaderAdapterEngine} used to create the adapter. Defaults to
+    * {@link ClassLoaderAdapterEngine#JAVASSIST}. Implementations that only support the default engine need not
+    * override this method.
+    * 
+    * @throws UnsupportedOperationException if the given engine is not supported by this builder
+    */
+   default ClassLoaderAdapterBuilderWhitelist engine(ClassLoaderAdapterEngine engine)
+   {
+      if (engine != ClassLoaderAdapterEngine.JAVASSIST)
+         throw new UnsupportedOperationException("Adapter engine [" + engine + "] is not supported by ["
+                  + getClass().getName() + "]");
+      return this;
+   }
+
+   /**
+    * Select how collection, map, {@link java.util.Optional} and array results are passed to the calling
+    * {@link ClassLoader}. Defaults to {@link ClassLoaderAdapterMarshalling#PROXY}. Implementations that only support
+    * the default marshalling need not override this method.
+    * 
+    * @throws UnsupportedOperationException if the given marshalling is not supported by this builder
+    */
+   default ClassLoaderAdapterBuilderWhitelist marshalling(ClassLoaderAdapterMarshalling marshalling)
+   {
+      if (marshalling != ClassLoaderAdapterMarshalling.PROXY)
+         throw new UnsupportedOperationException("Adapter marshalling [" + marshalling + "] is not supported by ["
+                  + getClass().getName() + "]");
+      return this;
+   }
+
    <T> T enhance(T delegate);
 
    <T> T enhance(T delegate, Class<?>... types);
@@ -14,12 +14,18 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,19 +45,33 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
 {
    private static final Logger log = Logger.getLogger(ClassLoaderAdapterCallback.class.getName());
    private static final ClassLoader JAVASSIST_LOADER = ProxyObject.class.getClassLoader();
-   private static final Map<String, Map<String, WeakReference<Class<?>>>> classCache = new ConcurrentHashMap<>();
-   private static final Map<String, Boolean> returnTypeNeedsEnhancementCache = new ConcurrentHashMap<>();
-   private static final Map<String, List<WeakReference<Class<?>>>> resultHierarchyCache = new ConcurrentHashMap<>();
-   private static final Map<String, List<WeakReference<Class<?>>>> returnTypeHierarchyCache = new ConcurrentHashMap<>();
+
+   /*
+    * The following caches are stored on the Class they are first keyed by, and then keyed weakly by ClassLoader (see
+    * loaderKey()) and Class or Method identity, so that a hit allocates nothing. They live exactly as long as that
+    * Class, and drop other entries once their keys are collected. Cached hierarchies hold the types they were
+    * resolved to strongly; when those are copies loaded by the calling ClassLoader, releaseCaches() is what discards
+    * them, as the AddonModuleLoader does whenever it unloads an addon.
+    */
+   private static final ClassValue<WeakIdentityCache<Object, WeakIdentityCache<Object, WeakReference<Class<?>>>>> classCache = WeakIdentityCache
+            .perClass();
+   private static final ClassValue<WeakIdentityCache<Object, WeakIdentityCache<Class<?>, Boolean>>> returnTypeNeedsEnhancementCache = WeakIdentityCache
+            .perClass();
+   private static final ClassValue<WeakIdentityCache<Object, WeakIdentityCache<Class<?>, Class<?>[]>>> resultHierarchyCache = WeakIdentityCache
+            .perClass();
+   private static final ClassValue<WeakIdentityCache<Object, Class<?>[]>> returnTypeHierarchyCache = WeakIdentityCache
+            .perClass();
+   private static final ClassValue<WeakIdentityCache<Object, WeakIdentityCache<Method, DelegateMethod>>> delegateMethodCache = WeakIdentityCache
+            .perClass();
+   private static final Object NULL_LOADER_KEY = new Object();
 
    private final Object delegate;
 
    private final ClassLoader initialCallingLoader;
    private final ClassLoader delegateLoader;
    private final Callable<Set<ClassLoader>> whitelist;
-   private final ClassLoader nullClassLoader = new ClassLoader()
-   {
-   };
+   private final ClassLoaderAdapterMarshalling marshalling;
+   private final ClassLoader nullClassLoader = new NullClassLoader();
 
    private ClassLoader getCallingLoader()
    {
@@ -64,11 +84,19 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
    public ClassLoaderAdapterCallback(Callable<Set<ClassLoader>> whitelist, ClassLoader callingLoader,
             ClassLoader delegateLoader, Object delegate)
    {
+      this(ClassLoaderAdapterMarshalling.PROXY, whitelist, callingLoader, delegateLoader, delegate);
+   }
+
+   public ClassLoaderAdapterCallback(ClassLoaderAdapterMarshalling marshalling, Callable<Set<ClassLoader>> whitelist,
+            ClassLoader callingLoader, ClassLoader delegateLoader, Object delegate)
+   {
+      Assert.notNull(marshalling, "Marshalling must not be null");
       Assert.notNull(whitelist, "ClassLoader whitelist must not be null");
       Assert.notNull(callingLoader, "Calling loader must not be null.");
       Assert.notNull(delegateLoader, "Delegate loader must not be null.");
       Assert.notNull(delegate, "Delegate must not be null.");
 
+      this.marshalling = marshalling;
       this.whitelist = whitelist;
       this.initialCallingLoader = callingLoader;
 
@@ -113,16 +141,18 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
             {
             }
 
-            final Method delegateMethod = getDelegateMethod(thisMethod);
+            final DelegateMethod dispatch = getDelegateMethod(thisMethod);
+            final Method delegateMethod = dispatch.getMethod();
 
-            final List<Object> parameterValues = enhanceParameterValues(args, delegateMethod);
+            final Object[] parameterValues = dispatch.isEnhanceParameters()
+                     ? enhanceParameterValues(args, delegateMethod) : args;
 
-            AccessibleObject.setAccessible(new AccessibleObject[] { delegateMethod }, true);
             try
             {
-               final Object[] parameterValueArray = parameterValues.toArray();
-               final Object result = delegateMethod.invoke(delegate, parameterValueArray);
-               return enhanceResult(thisMethod, result);
+               final Object result = delegateMethod.invoke(delegate, parameterValues);
+               if (dispatch.isEnhanceResult())
+                  return enhanceResult(thisMethod, result);
+               return result;
             }
             catch (final InvocationTargetException e)
             {
@@ -132,84 +162,139 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
             }
 
          }
+      });
 
-         private Method getDelegateMethod(final Method proxy) throws ClassNotFoundException, NoSuchMethodException
-         {
+      if (Thread.currentThread().isInterrupted())
+      {
+         throw new ContainerException("Thread.interrupt() requested.");
+      }
 
-            Method delegateMethod = null;
-            try
-            {
-               final List<Class<?>> parameterTypes = translateParameterTypes(proxy);
-               delegateMethod = delegate.getClass().getMethod(proxy.getName(),
-                        parameterTypes.toArray(new Class<?>[parameterTypes.size()]));
-            }
-            catch (final ClassNotFoundException e)
+      return result;
+   }
+
+   private DelegateMethod getDelegateMethod(final Method proxy) throws ClassNotFoundException, NoSuchMethodException
+   {
+      final Class<?> delegateType = delegate.getClass();
+      WeakIdentityCache<Method, DelegateMethod> cache = getOrCreate(delegateMethodCache.get(delegateType),
+               loaderKey(delegateLoader));
+
+      DelegateMethod result = cache.get(proxy);
+      if (result == null)
+      {
+         result = new DelegateMethod(proxy, resolveDelegateMethod(proxy, delegateType));
+         cache.put(proxy, result);
+      }
+      return result;
+   }
+
+   private Method resolveDelegateMethod(final Method proxy, final Class<?> delegateType)
+            throws ClassNotFoundException, NoSuchMethodException
+   {
+      Method delegateMethod = null;
+      try
+      {
+         delegateMethod = delegateType.getMethod(proxy.getName(), translateParameterTypes(proxy));
+      }
+      catch (final ClassNotFoundException e)
+      {
+         method: for (final Method m : delegateType.getMethods())
+         {
+            final String methodName = proxy.getName();
+            final String delegateMethodName = m.getName();
+            if (methodName.equals(delegateMethodName))
             {
-               method: for (final Method m : delegate.getClass().getMethods())
+               final Class<?>[] methodParameterTypes = proxy.getParameterTypes();
+               final Class<?>[] delegateParameterTypes = m.getParameterTypes();
+
+               if (methodParameterTypes.length == delegateParameterTypes.length)
                {
-                  final String methodName = proxy.getName();
-                  final String delegateMethodName = m.getName();
-                  if (methodName.equals(delegateMethodName))
+                  for (int i = 0; i < methodParameterTypes.length; i++)
                   {
-                     final Class<?>[] methodParameterTypes = proxy.getParameterTypes();
-                     final Class<?>[] delegateParameterTypes = m.getParameterTypes();
+                     final Class<?> methodType = methodParameterTypes[i];
+                     final Class<?> delegateParameterType = delegateParameterTypes[i];
 
-                     if (methodParameterTypes.length == delegateParameterTypes.length)
+                     if (!methodType.getName().equals(delegateParameterType.getName()))
                      {
-                        for (int i = 0; i < methodParameterTypes.length; i++)
-                        {
-                           final Class<?> methodType = methodParameterTypes[i];
-                           final Class<?> delegateType = delegateParameterTypes[i];
-
-                           if (!methodType.getName().equals(delegateType.getName()))
-                           {
-                              continue method;
-                           }
-                        }
-
-                        delegateMethod = m;
-                        break;
+                        continue method;
                      }
                   }
+
+                  delegateMethod = m;
+                  break;
                }
-               if (delegateMethod == null)
-                  throw e;
             }
-
-            return delegateMethod;
          }
-      });
-
-      if (Thread.currentThread().isInterrupted())
-      {
-         throw new ContainerException("Thread.interrupt() requested.");
+         if (delegateMethod == null)
+            throw e;
       }
 
-      return result;
+      AccessibleObject.setAccessible(new AccessibleObject[] { delegateMethod }, true);
+      return delegateMethod;
+   }
+
+   /**
+    * Eagerly discard any cached proxy types and type hierarchies that were looked up for the given {@link ClassLoader}.
+    * Call this when the {@link ClassLoader} of an addon is released; most entries are dropped once it has been collected
+    * regardless, but a cached hierarchy of types copied into it would otherwise keep it reachable.
+    */
+   public static void releaseCaches(ClassLoader loader)
+   {
+      if (loader == null)
+         return;
+
+      WeakIdentityCache.removeFromAll(loader);
+   }
+
+   /**
+    * Returns the cache key of the given {@link ClassLoader}. Every {@link NullClassLoader} shares the same key.
+    */
+   static Object loaderKey(ClassLoader loader)
+   {
+      return loader instanceof NullClassLoader ? NULL_LOADER_KEY : loader;
+   }
+
+   static <C, K, V> WeakIdentityCache<K, V> getOrCreate(WeakIdentityCache<C, WeakIdentityCache<K, V>> cache, C key)
+   {
+      return cache.computeIfAbsent(key, (k) -> new WeakIdentityCache<>());
    }
 
    private Object enhanceResult(final Method method, Object result) throws Exception
+   {
+      return enhanceResult(method, method.getReturnType(), result, null);
+   }
+
+   /**
+    * Adapt a result of the given declared type. The resultInstanceLoaders map, if not <code>null</code>, is used to
+    * remember the {@link ClassLoader} of each result type while a collection is being copied.
+    */
+   private Object enhanceResult(final Method method, final Class<?> returnType, Object result,
+            Map<Class<?>, ClassLoader> resultInstanceLoaders) throws Exception
    {
       if (result != null)
       {
+         if (marshalling == ClassLoaderAdapterMarshalling.COPY)
+         {
+            Object copy = copyResult(method, returnType, result, resultInstanceLoaders);
+            if (copy != null)
+               return copy;
+         }
+
          final Class<?> unwrappedResultType = Proxies.unwrap(result).getClass();
          ClassLoader callingLoader = getCallingLoader();
          if (getCallingLoader().equals(delegateLoader))
             callingLoader = getInitialCallingLoader();
 
-         ClassLoader resultInstanceLoader = delegateLoader;
-         if (!ClassLoaders.containsClass(delegateLoader, unwrappedResultType))
+         ClassLoader resultInstanceLoader = null;
+         if (resultInstanceLoaders != null)
+            resultInstanceLoader = resultInstanceLoaders.get(unwrappedResultType);
+
+         if (resultInstanceLoader == null)
          {
-            resultInstanceLoader = Proxies.unwrapProxyTypes(unwrappedResultType, getCallingLoader(), delegateLoader,
-                     unwrappedResultType.getClassLoader()).getClassLoader();
-            // FORGE-928: java.util.ArrayList.class.getClassLoader() returns null
-            if (resultInstanceLoader == null)
-            {
-               resultInstanceLoader = getClass().getClassLoader();
-            }
+            resultInstanceLoader = getResultInstanceLoader(unwrappedResultType);
+            if (resultInstanceLoaders != null)
+               resultInstanceLoaders.put(unwrappedResultType, resultInstanceLoader);
          }
 
-         final Class<?> returnType = method.getReturnType();
          if (Class.class.equals(returnType))
          {
             final Class<?> resultClassValue = (Class<?>) result;
@@ -249,7 +334,8 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
                         callingLoader);
                if (Object.class.equals(returnType) && !Object.class.equals(result))
                {
-                  result = enhance(whitelist, callingLoader, resultInstanceLoader, method, result, resultHierarchy);
+                  result = enhance(marshalling, whitelist, callingLoader, resultInstanceLoader, method, result,
+                           resultHierarchy);
                }
                else
                {
@@ -274,7 +360,7 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
                      }
                   }
 
-                  result = enhance(whitelist, callingLoader, resultInstanceLoader, method, delegateObject,
+                  result = enhance(marshalling, whitelist, callingLoader, resultInstanceLoader, method, delegateObject,
                            mergeHierarchies(returnTypeHierarchy, resultHierarchy));
                }
             }
@@ -301,8 +387,8 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
                                     Proxies.unwrapProxyTypes(resultClass, getCallingLoader(), delegateLoader,
                                              resultInstanceLoader));
                            result = Optional
-                                    .of(enhance(whitelist, getCallingLoader(), resultInstanceLoader, method,
-                                             nestedResult,
+                                    .of(enhance(marshalling, whitelist, getCallingLoader(), resultInstanceLoader,
+                                             method, nestedResult,
                                              resultHierarchy));
                         }
                      }
@@ -326,61 +412,121 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
       return result;
    }
 
-   private Class<?>[] calculateReturnTypeHierarchy(ClassLoader callingLoader, final Class<?> returnType)
+   private ClassLoader getResultInstanceLoader(final Class<?> unwrappedResultType)
    {
-      String key = getReturnTypeHierarchyCacheKey(callingLoader, returnType);
-
-      Class<?>[] returnTypeHierarchy = getCachedReturnTypeHierarchy(key);
-      if (returnTypeHierarchy == null)
+      ClassLoader resultInstanceLoader = delegateLoader;
+      if (!ClassLoaders.containsClass(delegateLoader, unwrappedResultType))
       {
-         returnTypeHierarchy = removeProxyTypes(ProxyTypeInspector.getCompatibleClassHierarchy(
-                  callingLoader, returnType));
-
-         setCachedReturnTypeHierarchy(key, returnTypeHierarchy);
+         resultInstanceLoader = Proxies.unwrapProxyTypes(unwrappedResultType, getCallingLoader(), delegateLoader,
+                  unwrappedResultType.getClassLoader()).getClassLoader();
+         // FORGE-928: java.util.ArrayList.class.getClassLoader() returns null
+         if (resultInstanceLoader == null)
+         {
+            resultInstanceLoader = getClass().getClassLoader();
+         }
       }
-      return returnTypeHierarchy;
+      return resultInstanceLoader;
    }
 
-   private void setCachedReturnTypeHierarchy(String key, Class<?>[] returnTypeHierarchy)
+   /**
+    * Copy a {@link Collection}, {@link Map}, {@link Optional} or array result into a new container that the calling
+    * {@link ClassLoader} can use directly, adapting its elements in a single pass. Returns <code>null</code> if the
+    * result cannot be copied into a container compatible with the given return type.
+    */
+   private Object copyResult(final Method method, final Class<?> returnType, final Object result,
+            Map<Class<?>, ClassLoader> resultInstanceLoaders) throws Exception
    {
-      List<WeakReference<Class<?>>> list = new ArrayList<>();
-      for (Class<?> type : returnTypeHierarchy)
+      if (resultInstanceLoaders == null)
+         resultInstanceLoaders = new IdentityHashMap<>();
+
+      if (result instanceof Optional)
       {
-         list.add(new WeakReference<Class<?>>(type));
+         if (!returnType.isAssignableFrom(Optional.class))
+            return null;
+
+         Optional<?> optional = (Optional<?>) result;
+         if (!optional.isPresent())
+            return optional;
+         return Optional.of(enhanceResult(method, Object.class, optional.get(), resultInstanceLoaders));
       }
-      returnTypeHierarchyCache.put(key, list);
-   }
+      else if (result instanceof Map)
+      {
+         if (result instanceof SortedMap || !returnType.isAssignableFrom(LinkedHashMap.class))
+            return null;
 
-   private Class<?>[] getCachedReturnTypeHierarchy(String key)
-   {
-      List<Class<?>> result = null;
-      List<WeakReference<Class<?>>> list = returnTypeHierarchyCache.get(key);
-      if (list != null)
+         Map<?, ?> map = (Map<?, ?>) result;
+         Map<Object, Object> copy = new LinkedHashMap<>();
+         for (Entry<?, ?> entry : map.entrySet())
+         {
+            copy.put(enhanceResult(method, Object.class, entry.getKey(), resultInstanceLoaders),
+                     enhanceResult(method, Object.class, entry.getValue(), resultInstanceLoaders));
+         }
+         return copy;
+      }
+      else if (result instanceof Collection)
       {
-         result = new ArrayList<>();
-         for (WeakReference<Class<?>> ref : list)
+         Collection<Object> copy;
+         if (result instanceof Set)
          {
-            Class<?> type = ref.get();
-            if (type == null)
+            if (result instanceof SortedSet || !returnType.isAssignableFrom(LinkedHashSet.class))
                return null;
-            result.add(type);
+            copy = new LinkedHashSet<>();
          }
-         return result.toArray(new Class<?>[result.size()]);
+         else
+         {
+            if (!returnType.isAssignableFrom(ArrayList.class))
+               return null;
+            copy = new ArrayList<>(((Collection<?>) result).size());
+         }
+
+         for (Object element : (Collection<?>) result)
+         {
+            copy.add(enhanceResult(method, Object.class, element, resultInstanceLoaders));
+         }
+         return copy;
+      }
+      else if (result.getClass().isArray() && returnType.isArray() && !returnType.isInstance(result))
+      {
+         Class<?> componentType = returnType.getComponentType();
+         if (componentType.isPrimitive())
+            return null;
+
+         int length = Array.getLength(result);
+         Object copy = Array.newInstance(componentType, length);
+         for (int i = 0; i < length; i++)
+         {
+            Object element = enhanceResult(method, componentType, Array.get(result, i), resultInstanceLoaders);
+            if (element != null && !componentType.isInstance(element))
+               return null;
+            Array.set(copy, i, element);
+         }
+         return copy;
       }
       return null;
    }
 
-   private String getReturnTypeHierarchyCacheKey(ClassLoader callingLoader, Class<?> returnType)
+   private Class<?>[] calculateReturnTypeHierarchy(ClassLoader callingLoader, final Class<?> returnType)
    {
-      return callingLoader + "" + returnType.getName();
+      WeakIdentityCache<Object, Class<?>[]> cache = returnTypeHierarchyCache.get(returnType);
+
+      Class<?>[] returnTypeHierarchy = cache.get(loaderKey(callingLoader));
+      if (returnTypeHierarchy == null)
+      {
+         returnTypeHierarchy = removeProxyTypes(ProxyTypeInspector.getCompatibleClassHierarchy(
+                  callingLoader, returnType));
+
+         cache.put(loaderKey(callingLoader), returnTypeHierarchy);
+      }
+      return returnTypeHierarchy;
    }
 
    private Class<?>[] calculateResultHierarchy(Class<?> resultType, final Class<?> unwrappedResultType,
             ClassLoader callingLoader)
    {
-      String key = getResultHierarchyCacheKey(callingLoader, unwrappedResultType, resultType);
+      WeakIdentityCache<Class<?>, Class<?>[]> cache = getOrCreate(resultHierarchyCache.get(resultType),
+               loaderKey(callingLoader));
 
-      Class<?>[] resultHierarchy = getCachedResultHierarchy(key);
+      Class<?>[] resultHierarchy = cache.get(unwrappedResultType);
       if (resultHierarchy == null)
       {
          Class<?>[] resultTypeHierarchy = removeProxyTypes(ProxyTypeInspector.getCompatibleClassHierarchy(
@@ -388,47 +534,11 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
          Class<?>[] unwrappedResultHierarchy = calculateReturnTypeHierarchy(callingLoader, unwrappedResultType);
 
          resultHierarchy = mergeHierarchies(resultTypeHierarchy, unwrappedResultHierarchy);
-         setCachedResultHierarchy(key, resultHierarchy);
+         cache.put(unwrappedResultType, resultHierarchy);
       }
       return resultHierarchy;
    }
 
-   private void setCachedResultHierarchy(String key, Class<?>[] resultHierarchy)
-   {
-      List<WeakReference<Class<?>>> list = new ArrayList<>();
-      for (Class<?> type : resultHierarchy)
-      {
-         list.add(new WeakReference<Class<?>>(type));
-      }
-      resultHierarchyCache.put(key, list);
-   }
-
-   private Class<?>[] getCachedResultHierarchy(String key)
-   {
-      List<Class<?>> result = null;
-      List<WeakReference<Class<?>>> list = resultHierarchyCache.get(key);
-      if (list != null)
-      {
-         result = new ArrayList<>();
-         for (WeakReference<Class<?>> ref : list)
-         {
-            Class<?> type = ref.get();
-            if (type == null)
-               return null;
-            result.add(type);
-         }
-         return result.toArray(new Class<?>[result.size()]);
-      }
-      return null;
-   }
-
-   private String getResultHierarchyCacheKey(ClassLoader callingLoader, Class<?> unwrappedResultType,
-            Class<?> resultType)
-   {
-      return callingLoader + "" + unwrappedResultType.getClassLoader() + "" + unwrappedResultType.getName()
-               + resultType.getClassLoader() + resultType.getName();
-   }
-
    private Class<?>[] removeProxyTypes(Class<?>[] types)
    {
       final List<Class<?>> result = new ArrayList<>();
@@ -473,7 +583,7 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
       return value;
    }
 
-   private Exception enhanceException(final Method method, final Exception exception)
+   Exception enhanceException(final Method method, final Exception exception)
    {
       Exception result = exception;
       try
@@ -501,7 +611,7 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
 
                if (!Modifier.isFinal(unwrappedExceptionType.getModifiers()))
                {
-                  result = enhance(whitelist, getCallingLoader(), exceptionLoader, method, exception,
+                  result = enhance(marshalling, whitelist, getCallingLoader(), exceptionLoader, method, exception,
                            exceptionHierarchy);
                }
             }
@@ -521,6 +631,10 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
    @SuppressWarnings({ "unchecked", "rawtypes" })
    private Object enhanceEnum(ClassLoader loader, Object instance)
    {
+      // enums of the bootstrap ClassLoader are shared by every ClassLoader
+      if (loader == null || instance.getClass().getClassLoader() == null)
+         return instance;
+
       try
       {
          final Class<Enum> callingType = (Class<Enum>) loader.loadClass(instance.getClass().getName());
@@ -585,8 +699,9 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
             Class<?> unwrappedReturnValueType)
    {
 
-      String key = getReturnTypeNeedsEnhancementCacheKey(methodReturnType, unwrappedReturnValueType);
-      Boolean result = returnTypeNeedsEnhancementCache.get(key);
+      WeakIdentityCache<Class<?>, Boolean> cache = getOrCreate(
+               returnTypeNeedsEnhancementCache.get(unwrappedReturnValueType), loaderKey(getCallingLoader()));
+      Boolean result = cache.get(methodReturnType);
 
       if (result == null)
       {
@@ -608,21 +723,18 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
                result = false;
             }
          }
-         returnTypeNeedsEnhancementCache.put(key, result);
+         cache.put(methodReturnType, result);
       }
 
       return result;
 
    }
 
-   private String getReturnTypeNeedsEnhancementCacheKey(Class<?> methodReturnType, Class<?> unwrappedReturnValueType)
-   {
-      return getCallingLoader() + "-" + methodReturnType.getClassLoader() + "-" + methodReturnType.getName()
-               + unwrappedReturnValueType.getClassLoader() + "" + unwrappedReturnValueType.getName();
-   }
-
    private static boolean whitelistContainsAll(Callable<Set<ClassLoader>> whitelist, ClassLoader... classLoaders)
    {
+      if (whitelist instanceof ClassLoaderWhitelist)
+         return ((ClassLoaderWhitelist) whitelist).containsAll(classLoaders);
+
       try
       {
          final Set<ClassLoader> set = whitelist.call();
@@ -641,6 +753,9 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
 
    private Class<?> loadClassFromWhitelist(String typeName) throws ClassNotFoundException
    {
+      if (whitelist instanceof ClassLoaderWhitelist)
+         return ((ClassLoaderWhitelist) whitelist).loadClass(typeName);
+
       Class<?> result;
 
       Set<ClassLoader> loaders;
@@ -669,17 +784,14 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
       throw new ClassNotFoundException(typeName);
    }
 
-   private List<Object> enhanceParameterValues(final Object[] args, Method delegateMethod) throws Exception
+   private Object[] enhanceParameterValues(final Object[] args, Method delegateMethod) throws Exception
    {
-      final List<Object> parameterValues = new ArrayList<>();
-      for (int i = 0; i < delegateMethod.getParameterTypes().length; i++)
+      final Class<?>[] delegateParameterTypes = delegateMethod.getParameterTypes();
+      final Object[] parameterValues = new Object[delegateParameterTypes.length];
+      for (int i = 0; i < delegateParameterTypes.length; i++)
       {
-         final Class<?> delegateParameterType = delegateMethod.getParameterTypes()[i];
-         final Object parameterValue = args[i];
-
-         final Object enhancedParameterValue = enhanceSingleParameterValue(delegateMethod, delegateParameterType,
-                  stripClassLoaderAdapters(parameterValue));
-         parameterValues.add(enhancedParameterValue);
+         parameterValues[i] = enhanceSingleParameterValue(delegateMethod, delegateParameterTypes[i],
+                  stripClassLoaderAdapters(args[i]));
       }
       return parameterValues;
    }
@@ -786,7 +898,7 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
                         Class<?>[] compatibleClassHierarchy = ProxyTypeInspector.getCompatibleClassHierarchy(
                                  delegateLoader,
                                  Proxies.unwrapProxyTypes(parameterClass, getCallingLoader(), delegateLoader));
-                        nestedResult = enhance(whitelist, valueDelegateLoader, valueCallingLoader,
+                        nestedResult = enhance(marshalling, whitelist, valueDelegateLoader, valueCallingLoader, null,
                                  nestedResult,
                                  compatibleClassHierarchy);
                      }
@@ -830,8 +942,8 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
                         }
                      }
 
-                     final Object delegateParameterValue = enhance(whitelist, valueDelegateLoader, valueCallingLoader,
-                              delegateObject,
+                     final Object delegateParameterValue = enhance(marshalling, whitelist, valueDelegateLoader,
+                              valueCallingLoader, null, delegateObject,
                               compatibleClassHierarchy);
 
                      return delegateParameterValue;
@@ -875,21 +987,14 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
       return false;
    }
 
-   private List<Class<?>> translateParameterTypes(final Method method) throws ClassNotFoundException
+   private Class<?>[] translateParameterTypes(final Method method) throws ClassNotFoundException
    {
-      final List<Class<?>> parameterTypes = new ArrayList<>();
-      for (int i = 0; i < method.getParameterTypes().length; i++)
+      final Class<?>[] parameterTypes = method.getParameterTypes();
+      for (int i = 0; i < parameterTypes.length; i++)
       {
-         final Class<?> parameterType = method.getParameterTypes()[i];
-
-         if (parameterType.isPrimitive())
-         {
-            parameterTypes.add(parameterType);
-         }
-         else
+         if (!parameterTypes[i].isPrimitive())
          {
-            final Class<?> delegateParameterType = delegateLoader.loadClass(parameterType.getName());
-            parameterTypes.add(delegateParameterType);
+            parameterTypes[i] = delegateLoader.loadClass(parameterTypes[i].getName());
          }
       }
       return parameterTypes;
@@ -898,10 +1003,10 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
    private static Class<?> getCachedProxyType(ClassLoader callingLoader, ClassLoader delegateLoader, Class<?> type)
    {
       Class<?> proxyType = null;
-      Map<String, WeakReference<Class<?>>> cache = classCache.get(getClassCacheKey(callingLoader, delegateLoader));
+      WeakIdentityCache<Object, WeakReference<Class<?>>> cache = classCache.get(type).get(loaderKey(callingLoader));
       if (cache != null)
       {
-         WeakReference<Class<?>> ref = cache.get(type.getName());
+         WeakReference<Class<?>> ref = cache.get(loaderKey(delegateLoader));
          if (ref != null)
          {
             proxyType = ref.get();
@@ -913,32 +1018,38 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
    private static void setCachedProxyType(ClassLoader callingLoader, ClassLoader delegateLoader, Class<?> type,
             Class<?> proxyType)
    {
-      String key = getClassCacheKey(callingLoader, delegateLoader);
-      Map<String, WeakReference<Class<?>>> cache = classCache.get(key);
-      if (cache == null)
-      {
-         cache = new ConcurrentHashMap<>();
-
-         classCache.put(key, cache);
-      }
-      cache.put(type.getName(), new WeakReference<Class<?>>(proxyType));
+      getOrCreate(classCache.get(type), loaderKey(callingLoader))
+               .put(loaderKey(delegateLoader), new WeakReference<Class<?>>(proxyType));
    }
 
-   private static String getClassCacheKey(ClassLoader callingLoader, ClassLoader delegateLoader)
+   static <T> T enhance(Callable<Set<ClassLoader>> whitelist, final ClassLoader callingLoader,
+            final ClassLoader delegateLoader,
+            final Object delegate,
+            final Class<?>... types)
    {
-      return callingLoader.toString() + delegateLoader.toString();
+      return enhance(ClassLoaderAdapterMarshalling.PROXY, whitelist, callingLoader, delegateLoader, null, delegate,
+               types);
    }
 
-   static <T> T enhance(Callable<Set<ClassLoader>> whitelist, final ClassLoader callingLoader,
-            final ClassLoader delegateLoader,
+   static <T> T enhance(ClassLoaderAdapterEngine engine, ClassLoaderAdapterMarshalling marshalling,
+            Callable<Set<ClassLoader>> whitelist,
+            final ClassLoader callingLoader, final ClassLoader delegateLoader,
             final Object delegate,
             final Class<?>... types)
    {
-      return enhance(whitelist, callingLoader, delegateLoader, null, delegate, types);
+      if (engine == ClassLoaderAdapterEngine.DIRECT && !whitelistContainsAll(whitelist, callingLoader, delegateLoader))
+      {
+         T result = DirectDispatchProxyFactory.enhance(marshalling, whitelist, callingLoader, delegateLoader, delegate,
+                  types);
+         if (result != null)
+            return result;
+      }
+      return enhance(marshalling, whitelist, callingLoader, delegateLoader, null, delegate, types);
    }
 
    @SuppressWarnings("unchecked")
    private static <T> T enhance(
+            final ClassLoaderAdapterMarshalling marshalling,
             final Callable<Set<ClassLoader>> whitelist,
             final ClassLoader callingLoader,
             final ClassLoader delegateLoader,
@@ -1051,8 +1162,8 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
                   try
                   {
                      ((ProxyObject) enhancedResult)
-                              .setHandler(new ClassLoaderAdapterCallback(whitelist, callingLoader, delegateLoader,
-                                       delegate));
+                              .setHandler(new ClassLoaderAdapterCallback(marshalling, whitelist, callingLoader,
+                                       delegateLoader, delegate));
                   }
                   catch (final ClassCastException e)
                   {
@@ -1064,14 +1175,19 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
                         {
                            final String callbackClassName = ClassLoaderAdapterCallback.class.getName();
                            final ClassLoader javassistLoader = javassistType.getClassLoader();
+                           final Class<?> marshallingType = javassistLoader
+                                    .loadClass(ClassLoaderAdapterMarshalling.class.getName());
                            final Constructor<?> callbackConstructor = javassistLoader.loadClass(callbackClassName)
-                                    .getConstructors()[0];
+                                    .getConstructor(marshallingType, Callable.class, ClassLoader.class,
+                                             ClassLoader.class, Object.class);
+                           final Object marshallingValue = marshallingType.getMethod("valueOf", String.class)
+                                    .invoke(null, marshalling.name());
 
                            final Class<?> typeArgument = javassistLoader.loadClass(MethodHandler.class.getName());
                            final Method setHandlerMethod = javassistType.getMethod("setHandler", typeArgument);
                            setHandlerMethod.invoke(enhancedResult,
-                                    callbackConstructor.newInstance(whitelist, callingLoader, delegateLoader,
-                                             delegate));
+                                    callbackConstructor.newInstance(marshallingValue, whitelist, callingLoader,
+                                             delegateLoader, delegate));
                         }
                      }
                   }
@@ -1114,4 +1230,54 @@ public class ClassLoaderAdapterCallback implements MethodHandler, ForgeProxy
    {
       return initialCallingLoader;
    }
+
+   /**
+    * Used as the delegate {@link ClassLoader} when it is the same as the calling {@link ClassLoader}.
+    */
+   private static final class NullClassLoader extends ClassLoader
+   {
+   }
+
+   /**
+    * The resolved (and accessible) delegate {@link Method} for a proxied {@link Method}, along with whether its
+    * parameters and result need to be enhanced when crossing the {@link ClassLoader} boundary.
+    */
+   private static final class DelegateMethod
+   {
+      private final Method method;
+      private final boolean enhanceParameters;
+      private final boolean enhanceResult;
+
+      DelegateMethod(Method proxyMethod, Method method)
+      {
+         this.method = method;
+
+         boolean primitiveParameters = true;
+         for (Class<?> type : method.getParameterTypes())
+         {
+            if (!type.isPrimitive())
+            {
+               primitiveParameters = false;
+               break;
+            }
+         }
+         this.enhanceParameters = !primitiveParameters;
+         this.enhanceResult = !proxyMethod.getReturnType().isPrimitive();
+      }
+
+      Method getMethod()
+      {
+         return method;
+      }
+
+      boolean isEnhanceParameters()
+      {
+         return enhanceParameters;
+      }
+
+      boolean isEnhanceResult()
+      {
+         return enhanceResult;
+      }
+   }
 }
@@ -0,0 +1,25 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.proxy;
+
+/**
+ * The strategy used by {@link ClassLoaderAdapterBuilder} to create {@link ClassLoader} adapters.
+ */
+public enum ClassLoaderAdapterEngine
+{
+   /**
+    * Every method call is dispatched reflectively through a {@link ClassLoaderAdapterCallback}.
+    */
+   JAVASSIST,
+
+   /**
+    * A dedicated adapter class is generated for the proxied interfaces. Methods that only take and return passthrough
+    * types call the delegate directly, all other methods are dispatched through a {@link ClassLoaderAdapterCallback}.
+    * Falls back to {@link #JAVASSIST} when the adapted type hierarchy contains classes.
+    */
+   DIRECT;
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.proxy;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * How {@link Collection}, {@link Map}, {@link Optional} and array results are passed across a {@link ClassLoader}
+ * boundary by adapters created with {@link ClassLoaderAdapterBuilder}.
+ */
+public enum ClassLoaderAdapterMarshalling
+{
+   /**
+    * Results are wrapped in an adapter, and every access to their elements is dispatched through a
+    * {@link ClassLoaderAdapterCallback}.
+    */
+   PROXY,
+
+   /**
+    * Results are copied into a new container of the calling {@link ClassLoader}, and their elements are adapted all at
+    * once. The caller receives a snapshot: changes made to the copy are not seen by the delegate, and vice versa. Sorted
+    * collections and results that cannot be copied into a container compatible with the declared return type are
+    * wrapped as with {@link #PROXY}.
+    */
+   COPY;
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.proxy;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A set of {@link ClassLoader} instances between which objects may be passed without being adapted, published as
+ * immutable, versioned snapshots. Reading the whitelist never blocks, and the publisher calls
+ * {@link #update(long, Collection)} whenever the set of {@link ClassLoader} instances changes.
+ * <p>
+ * Classes looked up across the whitelist are remembered per snapshot, so that each type name is resolved against the
+ * whitelisted {@link ClassLoader} instances only once.
+ */
+public class ClassLoaderWhitelist implements Callable<Set<ClassLoader>>
+{
+   private static final Object NOT_FOUND = new Object();
+
+   private volatile Snapshot snapshot;
+
+   /**
+    * Create an empty whitelist.
+    */
+   public ClassLoaderWhitelist()
+   {
+      this.snapshot = new Snapshot(-1, Collections.<ClassLoader> emptySet());
+   }
+
+   /**
+    * Create a whitelist containing the given {@link ClassLoader} instances.
+    */
+   public ClassLoaderWhitelist(Collection<ClassLoader> loaders)
+   {
+      this.snapshot = new Snapshot(0, loaders);
+   }
+
+   /**
+    * Publish the given {@link ClassLoader} instances as the given version of this whitelist. Does nothing if that
+    * version is already published.
+    */
+   public void update(long version, Collection<ClassLoader> loaders)
+   {
+      synchronized (this)
+      {
+         if (snapshot.version != version)
+            snapshot = new Snapshot(version, loaders);
+      }
+   }
+
+   /**
+    * Returns the currently published version of this whitelist.
+    */
+   public long getVersion()
+   {
+      return snapshot.version;
+   }
+
+   /**
+    * Returns the immutable set of {@link ClassLoader} instances currently published.
+    */
+   @Override
+   public Set<ClassLoader> call()
+   {
+      return snapshot.loaders;
+   }
+
+   /**
+    * Returns <code>true</code> if all of the given {@link ClassLoader} instances are currently published.
+    */
+   public boolean containsAll(ClassLoader... loaders)
+   {
+      Set<ClassLoader> published = snapshot.loaders;
+      for (ClassLoader loader : loaders)
+      {
+         if (!published.contains(loader))
+            return false;
+      }
+      return true;
+   }
+
+   /**
+    * Load the {@link Class} with the given name from the first published {@link ClassLoader} that can load it.
+    */
+   public Class<?> loadClass(String name) throws ClassNotFoundException
+   {
+      return snapshot.loadClass(name);
+   }
+
+   private static class Snapshot
+   {
+      private final long version;
+      private final Set<ClassLoader> loaders;
+      private final Map<String, Object> classes = new ConcurrentHashMap<>();
+
+      public Snapshot(long version, Collection<ClassLoader> loaders)
+      {
+         this.version = version;
+         this.loaders = Collections.unmodifiableSet(new LinkedHashSet<>(loaders));
+      }
+
+      public Class<?> loadClass(String name) throws ClassNotFoundException
+      {
+         Object result = classes.get(name);
+         if (result == null)
+         {
+            result = NOT_FOUND;
+            for (ClassLoader loader : loaders)
+            {
+               try
+               {
+                  result = loader.loadClass(name);
+                  break;
+               }
+               catch (Exception e)
+               {
+                  // next!
+               }
+            }
+            classes.put(name, result);
+         }
+
+         if (result == NOT_FOUND)
+            throw new ClassNotFoundException(name);
+         return (Class<?>) result;
+      }
+   }
+}
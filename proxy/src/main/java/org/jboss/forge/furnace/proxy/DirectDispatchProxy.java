@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.proxy;
+
+import java.lang.reflect.Method;
+
+import javassist.util.proxy.MethodHandler;
+import javassist.util.proxy.ProxyObject;
+
+import org.jboss.forge.furnace.exception.ContainerException;
+
+/**
+ * Base class of the adapters generated for {@link ClassLoaderAdapterEngine#DIRECT}. Not intended to be used directly.
+ */
+public abstract class DirectDispatchProxy implements ProxyObject, ForgeProxy
+{
+   private ClassLoaderAdapterCallback handler;
+   private Method[] methods;
+   private Object delegate;
+   private ClassLoader delegateLoader;
+
+   protected DirectDispatchProxy()
+   {
+   }
+
+   void initialize(ClassLoaderAdapterCallback handler, Method[] methods, Object delegate)
+   {
+      this.handler = handler;
+      this.methods = methods;
+      this.delegate = delegate;
+      this.delegateLoader = handler.getDelegateLoader();
+   }
+
+   /**
+    * Returns the delegate instance for direct invocation.
+    */
+   protected final Object target()
+   {
+      return delegate;
+   }
+
+   /**
+    * Switches the context {@link ClassLoader} to the delegate loader, returning the previous one.
+    */
+   protected final ClassLoader enter()
+   {
+      Thread thread = Thread.currentThread();
+      if (thread.isInterrupted())
+      {
+         throw new ContainerException("Thread.interrupt() requested.");
+      }
+      ClassLoader previous = thread.getContextClassLoader();
+      thread.setContextClassLoader(delegateLoader);
+      return previous;
+   }
+
+   /**
+    * Restores the context {@link ClassLoader} returned by {@link #enter()}.
+    */
+   protected final void exit(ClassLoader previous)
+   {
+      Thread.currentThread().setContextClassLoader(previous);
+   }
+
+   /**
+    * Dispatches the method with the given index through the {@link ClassLoaderAdapterCallback}.
+    */
+   protected final Object dispatch(int index, Object[] args) throws Throwable
+   {
+      return handler.invoke(this, methods[index], null, args);
+   }
+
+   /**
+    * Throws the given exception, thrown by a directly invoked delegate method, once it has been adapted to the calling
+    * {@link ClassLoader}. Never returns normally.
+    */
+   protected final RuntimeException rethrow(int index, Throwable t)
+   {
+      if (t instanceof Exception)
+         t = handler.enhanceException(methods[index], (Exception) t);
+      throw DirectDispatchProxy.<RuntimeException> sneakyThrow(t);
+   }
+
+   @SuppressWarnings("unchecked")
+   private static <T extends Throwable> T sneakyThrow(Throwable t) throws T
+   {
+      throw (T) t;
+   }
+
+   @Override
+   public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable
+   {
+      return handler.invoke(self, thisMethod, proceed, args);
+   }
+
+   @Override
+   public Object getDelegate()
+   {
+      return delegate;
+   }
+
+   @Override
+   public MethodHandler getHandler()
+   {
+      return handler;
+   }
+
+   @Override
+   public void setHandler(MethodHandler handler)
+   {
+      throw new UnsupportedOperationException("The handler of a direct dispatch proxy cannot be replaced.");
+   }
+}
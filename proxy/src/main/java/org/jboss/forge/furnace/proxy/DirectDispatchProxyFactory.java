@@ -0,0 +1,546 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.proxy;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.FieldInfo;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+import javassist.util.proxy.FactoryHelper;
+import javassist.util.proxy.MethodHandler;
+import javassist.util.proxy.Proxy;
+import javassist.util.proxy.ProxyObject;
+
+import org.jboss.forge.furnace.util.ClassLoaders;
+
+/**
+ * Generates the {@link DirectDispatchProxy} adapter classes used by {@link ClassLoaderAdapterEngine#DIRECT}.
+ * <p>
+ * Each generated class implements the adapted interfaces. Methods declared by an interface the delegate implements,
+ * whose parameter and return types are all final passthrough types or primitives, invoke the delegate directly
+ * (switching the context {@link ClassLoader} inline). Every other method is dispatched through the
+ * {@link ClassLoaderAdapterCallback}.
+ */
+final class DirectDispatchProxyFactory
+{
+   private static final Logger log = Logger.getLogger(DirectDispatchProxyFactory.class.getName());
+
+   private static final String BASE_CLASS = DirectDispatchProxy.class.getName();
+   private static final String METHODS_FIELD = "_methods";
+   private static final AtomicLong counter = new AtomicLong();
+
+   private static final Set<String> reservedMethods = new HashSet<>();
+   private static final Set<Class<?>> proxyInterfaces = new HashSet<>();
+
+   static
+   {
+      for (Method method : DirectDispatchProxy.class.getDeclaredMethods())
+      {
+         reservedMethods.add(getSignature(method));
+      }
+      proxyInterfaces.add(ForgeProxy.class);
+      proxyInterfaces.add(MethodHandler.class);
+      proxyInterfaces.add(Proxy.class);
+      proxyInterfaces.add(ProxyObject.class);
+   }
+
+   /*
+    * Generated types stored on the delegate type, keyed weakly by calling ClassLoader identity, and then by proxied
+    * interfaces, all held weakly
+    */
+   private static final ClassValue<WeakIdentityCache<Object, List<ProxyType>>> proxyTypes = WeakIdentityCache
+            .perClass();
+
+   private static final ClassValue<Method[]> dispatchedMethods = new ClassValue<Method[]>()
+   {
+      @Override
+      protected Method[] computeValue(Class<?> proxyType)
+      {
+         try
+         {
+            return (Method[]) proxyType.getField(METHODS_FIELD).get(null);
+         }
+         catch (Exception e)
+         {
+            throw new IllegalStateException("Not a direct dispatch proxy type [" + proxyType + "]", e);
+         }
+      }
+   };
+
+   private DirectDispatchProxyFactory()
+   {
+   }
+
+   /**
+    * Create a direct dispatch adapter for the given delegate, or return <code>null</code> if the requested type
+    * hierarchy cannot be adapted this way.
+    */
+   @SuppressWarnings("unchecked")
+   static <T> T enhance(ClassLoaderAdapterMarshalling marshalling, Callable<Set<ClassLoader>> whitelist,
+            ClassLoader callingLoader, ClassLoader delegateLoader, Object delegate, Class<?>... types)
+   {
+      final Class<?> delegateType = delegate.getClass();
+      try
+      {
+         Class<?>[] interfaces = getInterfaces(callingLoader, delegateType, types);
+         if (interfaces == null)
+            return null;
+
+         Class<?> proxyType = getProxyType(callingLoader, delegateType, interfaces);
+         if (proxyType == null)
+            return null;
+
+         DirectDispatchProxy result = (DirectDispatchProxy) proxyType.newInstance();
+         result.initialize(
+                  new ClassLoaderAdapterCallback(marshalling, whitelist, callingLoader, delegateLoader, delegate),
+                  dispatchedMethods.get(proxyType), delegate);
+         return (T) result;
+      }
+      catch (Exception | LinkageError e)
+      {
+         log.log(Level.FINE, "Could not create direct dispatch proxy for type [" + delegateType
+                  + "], falling back to reflective dispatch.", e);
+         return null;
+      }
+   }
+
+   private static Class<?>[] getInterfaces(ClassLoader callingLoader, Class<?> delegateType, Class<?>[] types)
+   {
+      Class<?>[] hierarchy = types;
+      if (hierarchy == null || hierarchy.length == 0)
+         hierarchy = ProxyTypeInspector.getCompatibleClassHierarchy(callingLoader, delegateType);
+
+      if (hierarchy == null || !ClassLoaders.containsClass(callingLoader, DirectDispatchProxy.class)
+               || !ClassLoaders.containsClass(callingLoader, ProxyObject.class))
+         return null;
+
+      List<Class<?>> result = new ArrayList<>();
+      for (Class<?> type : hierarchy)
+      {
+         if (proxyInterfaces.contains(type) || result.contains(type))
+            continue;
+         if (!type.isInterface() || !Modifier.isPublic(type.getModifiers())
+                  || !ClassLoaders.containsClass(callingLoader, type))
+            return null;
+         result.add(type);
+      }
+
+      if (result.isEmpty())
+         return null;
+      return result.toArray(new Class<?>[result.size()]);
+   }
+
+   private static Class<?> getProxyType(ClassLoader callingLoader, Class<?> delegateType, Class<?>[] interfaces)
+            throws Exception
+   {
+      List<ProxyType> cache = proxyTypes.get(delegateType).computeIfAbsent(
+               ClassLoaderAdapterCallback.loaderKey(callingLoader), (key) -> new CopyOnWriteArrayList<>());
+
+      Class<?> proxyType = findProxyType(cache, interfaces);
+      if (proxyType == null)
+      {
+         synchronized (cache)
+         {
+            proxyType = findProxyType(cache, interfaces);
+            if (proxyType == null)
+            {
+               proxyType = createProxyType(callingLoader, delegateType, interfaces);
+               if (proxyType == null)
+                  return null;
+               cache.removeIf((entry) -> entry.isCollected());
+               cache.add(new ProxyType(interfaces, proxyType));
+            }
+         }
+      }
+      return proxyType;
+   }
+
+   private static Class<?> findProxyType(List<ProxyType> cache, Class<?>[] interfaces)
+   {
+      for (ProxyType entry : cache)
+      {
+         if (entry.matches(interfaces))
+            return entry.type.get();
+      }
+      return null;
+   }
+
+   private static Class<?> createProxyType(ClassLoader callingLoader, Class<?> delegateType, Class<?>[] interfaces)
+            throws Exception
+   {
+      Map<String, Method> methods = new LinkedHashMap<>();
+      for (Class<?> type : interfaces)
+      {
+         for (Method method : type.getMethods())
+         {
+            if (Modifier.isStatic(method.getModifiers()) || proxyInterfaces.contains(method.getDeclaringClass()))
+               continue;
+
+            String signature = getSignature(method);
+            if (reservedMethods.contains(signature))
+               return null;
+
+            Method existing = methods.get(signature);
+            if (existing == null)
+               methods.put(signature, method);
+            else if (!existing.getReturnType().equals(method.getReturnType()))
+               return null;
+         }
+      }
+      for (Method method : new Method[] { Object.class.getMethod("equals", Object.class),
+               Object.class.getMethod("hashCode"), Object.class.getMethod("toString") })
+      {
+         String signature = getSignature(method);
+         if (!methods.containsKey(signature))
+            methods.put(signature, method);
+      }
+
+      String name = interfaces[0].getName();
+      if (name.startsWith("java."))
+         name = DirectDispatchProxyFactory.class.getPackage().getName() + "." + name;
+      name = name + "_$$_jvstdd" + Long.toHexString(counter.incrementAndGet());
+
+      ClassFile cf = new ClassFile(false, name, BASE_CLASS);
+      cf.setMajorVersion(ClassFile.JAVA_5);
+      cf.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.SUPER);
+
+      String[] interfaceNames = new String[interfaces.length + 1];
+      for (int i = 0; i < interfaces.length; i++)
+      {
+         interfaceNames[i] = interfaces[i].getName();
+      }
+      interfaceNames[interfaces.length] = ForgeProxy.class.getName();
+      cf.setInterfaces(interfaceNames);
+
+      ConstPool cp = cf.getConstPool();
+      FieldInfo field = new FieldInfo(cp, METHODS_FIELD, "[Ljava/lang/reflect/Method;");
+      field.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.STATIC);
+      cf.addField(field);
+
+      MethodInfo constructor = new MethodInfo(cp, MethodInfo.nameInit, "()V");
+      constructor.setAccessFlags(AccessFlag.PUBLIC);
+      Bytecode code = new Bytecode(cp, 1, 1);
+      code.addAload(0);
+      code.addInvokespecial(BASE_CLASS, MethodInfo.nameInit, "()V");
+      code.addOpcode(Opcode.RETURN);
+      constructor.setCodeAttribute(code.toCodeAttribute());
+      cf.addMethod(constructor);
+
+      Method[] dispatched = methods.values().toArray(new Method[methods.size()]);
+      for (int i = 0; i < dispatched.length; i++)
+      {
+         Method method = dispatched[i];
+         MethodInfo info = new MethodInfo(cp, method.getName(), getDescriptor(method));
+         info.setAccessFlags(AccessFlag.PUBLIC);
+         if (isDirect(delegateType, method))
+            info.setCodeAttribute(createDirectCall(cp, i, method).toCodeAttribute());
+         else
+            info.setCodeAttribute(createDispatchCall(cp, i, method).toCodeAttribute());
+         cf.addMethod(info);
+      }
+
+      Class<?> result = FactoryHelper.toClass(cf, callingLoader, interfaces[0].getProtectionDomain());
+      result.getField(METHODS_FIELD).set(null, dispatched);
+      return result;
+   }
+
+   private static boolean isDirect(Class<?> delegateType, Method method)
+   {
+      Class<?> declaringClass = method.getDeclaringClass();
+      if (Object.class.equals(declaringClass))
+         return !"equals".equals(method.getName());
+
+      if (!declaringClass.isAssignableFrom(delegateType) || !isDirectType(method.getReturnType()))
+         return false;
+      for (Class<?> type : method.getParameterTypes())
+      {
+         if (!isDirectType(type))
+            return false;
+      }
+      return true;
+   }
+
+   /**
+    * Values of these types never need to be adapted when crossing a {@link ClassLoader} boundary.
+    */
+   private static boolean isDirectType(Class<?> type)
+   {
+      if (type.isArray())
+         return isDirectType(type.getComponentType());
+      return type.isPrimitive() || (Proxies.isFinalPassthroughType(type) && !Class.class.equals(type));
+   }
+
+   /*
+    * ClassLoader previous = enter();
+    * try { result = ((Type) target()).method(args); }
+    * catch (Throwable t) { exit(previous); throw rethrow(index, t); }
+    * exit(previous);
+    * return result;
+    */
+   private static Bytecode createDirectCall(ConstPool cp, int index, Method method)
+   {
+      Class<?>[] parameterTypes = method.getParameterTypes();
+      Class<?> returnType = method.getReturnType();
+      int parameterSlots = getSlots(parameterTypes);
+      int previousSlot = 1 + parameterSlots;
+      int resultSlot = previousSlot + 1;
+      int throwableSlot = resultSlot + getSize(returnType);
+
+      Bytecode code = new Bytecode(cp);
+      code.addAload(0);
+      code.addInvokevirtual(BASE_CLASS, "enter", "()Ljava/lang/ClassLoader;");
+      code.addAstore(previousSlot);
+
+      int start = code.currentPc();
+      code.addAload(0);
+      code.addInvokevirtual(BASE_CLASS, "target", "()Ljava/lang/Object;");
+      String owner = method.getDeclaringClass().getName();
+      if (!Object.class.equals(method.getDeclaringClass()))
+         code.addCheckcast(owner);
+      int slot = 1;
+      for (Class<?> type : parameterTypes)
+      {
+         addLoad(code, type, slot);
+         slot += getSize(type);
+      }
+      if (method.getDeclaringClass().isInterface())
+         code.addInvokeinterface(owner, method.getName(), getDescriptor(method), 1 + parameterSlots);
+      else
+         code.addInvokevirtual(owner, method.getName(), getDescriptor(method));
+      addStore(code, returnType, resultSlot);
+      int end = code.currentPc();
+
+      code.addAload(0);
+      code.addAload(previousSlot);
+      code.addInvokevirtual(BASE_CLASS, "exit", "(Ljava/lang/ClassLoader;)V");
+      addLoad(code, returnType, resultSlot);
+      addReturn(code, returnType);
+
+      int handler = code.currentPc();
+      code.addAstore(throwableSlot);
+      code.addAload(0);
+      code.addAload(previousSlot);
+      code.addInvokevirtual(BASE_CLASS, "exit", "(Ljava/lang/ClassLoader;)V");
+      code.addAload(0);
+      code.addIconst(index);
+      code.addAload(throwableSlot);
+      code.addInvokevirtual(BASE_CLASS, "rethrow", "(ILjava/lang/Throwable;)Ljava/lang/RuntimeException;");
+      code.addOpcode(Opcode.ATHROW);
+      code.addExceptionHandler(start, end, handler, 0);
+
+      code.setMaxLocals(throwableSlot + 1);
+      code.setMaxStack(Math.max(4, parameterSlots + 2));
+      return code;
+   }
+
+   /*
+    * return (ReturnType) dispatch(index, new Object[] { args });
+    */
+   private static Bytecode createDispatchCall(ConstPool cp, int index, Method method)
+   {
+      Class<?>[] parameterTypes = method.getParameterTypes();
+      Class<?> returnType = method.getReturnType();
+
+      Bytecode code = new Bytecode(cp);
+      code.addAload(0);
+      code.addIconst(index);
+      code.addIconst(parameterTypes.length);
+      code.addAnewarray("java.lang.Object");
+      int slot = 1;
+      for (int i = 0; i < parameterTypes.length; i++)
+      {
+         Class<?> type = parameterTypes[i];
+         code.addOpcode(Opcode.DUP);
+         code.addIconst(i);
+         addLoad(code, type, slot);
+         if (type.isPrimitive())
+         {
+            String wrapper = FactoryHelper.wrapperTypes[FactoryHelper.typeIndex(type)];
+            code.addInvokestatic(wrapper, "valueOf",
+                     "(" + getDescriptor(type) + ")L" + wrapper.replace('.', '/') + ";");
+         }
+         code.addOpcode(Opcode.AASTORE);
+         slot += getSize(type);
+      }
+      code.addInvokevirtual(BASE_CLASS, "dispatch", "(I[Ljava/lang/Object;)Ljava/lang/Object;");
+
+      if (void.class.equals(returnType))
+      {
+         code.addOpcode(Opcode.POP);
+      }
+      else if (returnType.isPrimitive())
+      {
+         int typeIndex = FactoryHelper.typeIndex(returnType);
+         String wrapper = FactoryHelper.wrapperTypes[typeIndex];
+         code.addCheckcast(wrapper);
+         code.addInvokevirtual(wrapper, FactoryHelper.unwarpMethods[typeIndex], FactoryHelper.unwrapDesc[typeIndex]);
+      }
+      else if (!Object.class.equals(returnType))
+      {
+         code.addCheckcast(returnType.getName());
+      }
+      addReturn(code, returnType);
+
+      code.setMaxLocals(1 + getSlots(parameterTypes));
+      code.setMaxStack(7);
+      return code;
+   }
+
+   private static void addLoad(Bytecode code, Class<?> type, int slot)
+   {
+      if (void.class.equals(type))
+         return;
+      else if (long.class.equals(type))
+         code.addLload(slot);
+      else if (float.class.equals(type))
+         code.addFload(slot);
+      else if (double.class.equals(type))
+         code.addDload(slot);
+      else if (type.isPrimitive())
+         code.addIload(slot);
+      else
+         code.addAload(slot);
+   }
+
+   private static void addStore(Bytecode code, Class<?> type, int slot)
+   {
+      if (void.class.equals(type))
+         return;
+      else if (long.class.equals(type))
+         code.addLstore(slot);
+      else if (float.class.equals(type))
+         code.addFstore(slot);
+      else if (double.class.equals(type))
+         code.addDstore(slot);
+      else if (type.isPrimitive())
+         code.addIstore(slot);
+      else
+         code.addAstore(slot);
+   }
+
+   private static void addReturn(Bytecode code, Class<?> type)
+   {
+      if (void.class.equals(type))
+         code.addOpcode(Opcode.RETURN);
+      else if (long.class.equals(type))
+         code.addOpcode(Opcode.LRETURN);
+      else if (float.class.equals(type))
+         code.addOpcode(Opcode.FRETURN);
+      else if (double.class.equals(type))
+         code.addOpcode(Opcode.DRETURN);
+      else if (type.isPrimitive())
+         code.addOpcode(Opcode.IRETURN);
+      else
+         code.addOpcode(Opcode.ARETURN);
+   }
+
+   private static int getSize(Class<?> type)
+   {
+      if (void.class.equals(type))
+         return 0;
+      if (long.class.equals(type) || double.class.equals(type))
+         return 2;
+      return 1;
+   }
+
+   private static int getSlots(Class<?>[] types)
+   {
+      int result = 0;
+      for (Class<?> type : types)
+      {
+         result += getSize(type);
+      }
+      return result;
+   }
+
+   private static String getSignature(Method method)
+   {
+      StringBuilder result = new StringBuilder(method.getName()).append('(');
+      for (Class<?> type : method.getParameterTypes())
+      {
+         result.append(getDescriptor(type));
+      }
+      return result.append(')').toString();
+   }
+
+   private static String getDescriptor(Method method)
+   {
+      return getSignature(method).substring(method.getName().length()) + getDescriptor(method.getReturnType());
+   }
+
+   private static String getDescriptor(Class<?> type)
+   {
+      if (type.isArray())
+         return type.getName().replace('.', '/');
+      if (type.isPrimitive())
+      {
+         if (void.class.equals(type))
+            return "V";
+         return FactoryHelper.unwrapDesc[FactoryHelper.typeIndex(type)].substring(2);
+      }
+      return "L" + type.getName().replace('.', '/') + ";";
+   }
+
+   private static final class ProxyType
+   {
+      private final WeakReference<Class<?>>[] interfaces;
+      private final WeakReference<Class<?>> type;
+
+      @SuppressWarnings("unchecked")
+      ProxyType(Class<?>[] interfaces, Class<?> type)
+      {
+         this.interfaces = new WeakReference[interfaces.length];
+         for (int i = 0; i < interfaces.length; i++)
+         {
+            this.interfaces[i] = new WeakReference<Class<?>>(interfaces[i]);
+         }
+         this.type = new WeakReference<Class<?>>(type);
+      }
+
+      boolean matches(Class<?>[] interfaces)
+      {
+         if (this.interfaces.length != interfaces.length)
+            return false;
+         for (int i = 0; i < interfaces.length; i++)
+         {
+            if (this.interfaces[i].get() != interfaces[i])
+               return false;
+         }
+         return true;
+      }
+
+      boolean isCollected()
+      {
+         if (type.get() == null)
+            return true;
+         for (WeakReference<Class<?>> ref : interfaces)
+         {
+            if (ref.get() == null)
+               return true;
+         }
+         return false;
+      }
+   }
+}
@@ -9,9 +9,8 @@ package org.jboss.forge.furnace.proxy;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Collection;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import javassist.util.proxy.MethodFilter;
@@ -34,9 +33,36 @@ public class Proxies
    private static final Pattern CGLIB_CLASSNAME_REGEXP = Pattern.compile("^(.*)\\$\\$EnhancerByCGLIB\\$\\$.*");
    private static final Pattern JAVASSIST_CLASSNAME_REGEXP = Pattern.compile("^(.*)_\\$\\$_jvst.*");
 
+   private static final int PASSTHROUGH = 1;
+   private static final int LANGUAGE = 1 << 1;
+   private static final int JAVASSIST_PROXY = 1 << 2;
+   private static final int CGLIB_PROXY = 1 << 3;
+   private static final int PROXY = 1 << 4;
+   private static final int COLLECTION = 1 << 5;
+   private static final int FINAL = 1 << 6;
+   private static final int ENUM = 1 << 7;
+
+   /*
+    * Classification of each type, computed once so that proxy decisions do not need to match the type name again
+    */
+   private static final ClassValue<Integer> classifications = new ClassValue<Integer>()
+   {
+      @Override
+      protected Integer computeValue(Class<?> type)
+      {
+         return classify(type);
+      }
+   };
+
    private static MethodFilter filter = new ForgeProxyMethodFilter();
 
-   private static Map<String, Map<String, WeakReference<Class<?>>>> classCache = new ConcurrentHashMap<>();
+   private static final Object BOOTSTRAP_LOADER_KEY = new Object();
+
+   /*
+    * Proxy types stored on the proxied type, and keyed weakly by ClassLoader identity
+    */
+   private static final ClassValue<WeakIdentityCache<Object, WeakReference<Class<?>>>> classCache = WeakIdentityCache
+            .perClass();
 
    /**
     * Create a proxy for the given {@link Class} type, {@link Object} instance, and {@link ForgeProxy} handler. If
@@ -141,27 +167,18 @@ public class Proxies
    private static Class<?> getCachedProxyType(ClassLoader loader, Class<?> type)
    {
       Class<?> proxyType = null;
-      Map<String, WeakReference<Class<?>>> cache = classCache.get(loader.toString());
-      if (cache != null)
+      WeakReference<Class<?>> ref = classCache.get(type).get(loader == null ? BOOTSTRAP_LOADER_KEY : loader);
+      if (ref != null)
       {
-         WeakReference<Class<?>> ref = cache.get(type.getName());
-         if (ref != null)
-         {
-            proxyType = ref.get();
-         }
+         proxyType = ref.get();
       }
       return proxyType;
    }
 
    private static void setCachedProxyType(ClassLoader classLoader, Class<?> type, Class<?> proxyType)
    {
-      Map<String, WeakReference<Class<?>>> cache = classCache.get(classLoader.toString());
-      if (cache == null)
-      {
-         cache = new ConcurrentHashMap<>();
-         classCache.put(classLoader.toString(), cache);
-      }
-      cache.put(type.getName(), new WeakReference<Class<?>>(proxyType));
+      classCache.get(type).put(classLoader == null ? BOOTSTRAP_LOADER_KEY : classLoader,
+               new WeakReference<Class<?>>(proxyType));
    }
 
    /**
@@ -236,18 +253,7 @@ public class Proxies
 
    public static boolean isProxyType(Class<?> type)
    {
-      if (type != null)
-      {
-         if (type.getName().contains("$$EnhancerByCGLIB$$")
-                  || type.getName().contains("_jvst")
-                  || type.getName().contains("$Proxy$_$$_WeldClientProxy")
-                  || Proxy.class.isAssignableFrom(type)
-                  || ProxyObject.class.isAssignableFrom(type))
-         {
-            return true;
-         }
-      }
-      return false;
+      return type != null && is(type, PROXY);
    }
 
    /**
@@ -374,11 +380,12 @@ public class Proxies
       String typeName = null;
       if (type != null)
       {
-         if (type.getName().contains("$$EnhancerByCGLIB$$"))
+         int flags = classifications.get(type);
+         if ((flags & CGLIB_PROXY) != 0)
          {
             typeName = CGLIB_CLASSNAME_REGEXP.matcher(type.getName()).replaceAll("$1");
          }
-         else if (type.getName().contains("_jvst"))
+         else if ((flags & JAVASSIST_PROXY) != 0)
          {
             typeName = JAVASSIST_CLASSNAME_REGEXP.matcher(type.getName()).replaceAll("$1");
          }
@@ -414,7 +421,7 @@ public class Proxies
                   unwrapProxyClassName(anotherUnproxiedObj.getClass()));
          if (sameClassName)
          {
-            if (unproxiedObj.getClass().isEnum())
+            if (is(unproxiedObj.getClass(), ENUM))
             {
                // Enum hashCode is different if loaded from different classloaders and cannot be overriden.
                Enum<?> enumLeft = Enum.class.cast(unproxiedObj);
@@ -473,37 +480,69 @@ public class Proxies
    public static boolean isPassthroughType(Class<?> type)
    {
       Assert.notNull(type, "Type to inspect must not be null.");
-
-      boolean result = type.isArray()
-               || JAVA_LANG_PACKAGE_REGEXP.matcher(type.getName()).matches()
-               || JAVA_IO_PACKAGE_REGEXP.matcher(type.getName()).matches()
-               || JAVA_NET_PACKAGE_REGEXP.matcher(type.getName()).matches()
-               || JAVA_UTIL_LOGGING_PACKAGE_REGEXP.matcher(type.getName()).matches()
-               || type.isPrimitive();
-
-      result = result && !(Iterable.class.getName().equals(type.getName()));
-
-      return result;
+      return is(type, PASSTHROUGH);
    }
 
    public static boolean isLanguageType(Class<?> type)
    {
       Assert.notNull(type, "Type to inspect must not be null.");
-
-      boolean result = type.isArray()
-               || JAVA_PACKAGE_REGEXP.matcher(type.getName()).matches()
-               || type.isPrimitive();
-
-      return result;
+      return is(type, LANGUAGE);
    }
 
    public static boolean isCollectionType(Object instance)
    {
       Assert.notNull(instance, "Object to inspect must not be null.");
+      return is(instance.getClass(), COLLECTION);
+   }
+
+   /**
+    * Determine if the given {@link Class} type is a final pass-through type, whose instances never need to be adapted.
+    */
+   static boolean isFinalPassthroughType(Class<?> type)
+   {
+      return is(type, PASSTHROUGH | FINAL);
+   }
+
+   private static boolean is(Class<?> type, int flags)
+   {
+      return (classifications.get(type) & flags) == flags;
+   }
+
+   private static int classify(Class<?> type)
+   {
+      String name = type.getName();
+      int result = 0;
+
+      if (type.isArray() || type.isPrimitive()
+               || JAVA_LANG_PACKAGE_REGEXP.matcher(name).matches()
+               || JAVA_IO_PACKAGE_REGEXP.matcher(name).matches()
+               || JAVA_NET_PACKAGE_REGEXP.matcher(name).matches()
+               || JAVA_UTIL_LOGGING_PACKAGE_REGEXP.matcher(name).matches())
+      {
+         if (!Iterable.class.getName().equals(name))
+            result |= PASSTHROUGH;
+      }
+
+      if (type.isArray() || type.isPrimitive() || JAVA_PACKAGE_REGEXP.matcher(name).matches())
+         result |= LANGUAGE;
+
+      if (name.contains("$$EnhancerByCGLIB$$"))
+         result |= CGLIB_PROXY | PROXY;
+      else if (name.contains("_jvst"))
+         result |= JAVASSIST_PROXY | PROXY;
+      else if (name.contains("$Proxy$_$$_WeldClientProxy")
+               || Proxy.class.isAssignableFrom(type)
+               || ProxyObject.class.isAssignableFrom(type))
+         result |= PROXY;
+
+      if (type.isArray() || Iterable.class.isAssignableFrom(type))
+         result |= COLLECTION;
+
+      if (Modifier.isFinal(type.getModifiers()))
+         result |= FINAL;
 
-      boolean result = instance instanceof Collection
-               || instance instanceof Iterable
-               || instance.getClass().isArray();
+      if (type.isEnum())
+         result |= ENUM;
 
       return result;
    }
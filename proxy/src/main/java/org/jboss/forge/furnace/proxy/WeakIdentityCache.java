@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.proxy;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache that holds its keys weakly and compares them by identity. Lookups go through a reusable
+ * per-thread probe, so a hit allocates nothing.
+ * <p>
+ * Entries whose key has been garbage collected are purged whenever an entry is added. Values are held strongly, so a
+ * value must not (directly or through its {@link ClassLoader}) strongly reference its own key, or the entry will only
+ * be discarded by {@link #remove(Object)}.
+ */
+final class WeakIdentityCache<K, V>
+{
+   private static final ThreadLocal<Probe> probes = ThreadLocal.withInitial(Probe::new);
+   private static final Set<WeakIdentityCache<?, ?>> perClassCaches = Collections
+            .newSetFromMap(Collections.synchronizedMap(new WeakHashMap<WeakIdentityCache<?, ?>, Boolean>()));
+
+   private final Map<Object, V> map = new ConcurrentHashMap<>();
+   private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+   /**
+    * Returns a {@link ClassValue} that stores a separate cache on each {@link Class}, so that the cache lives exactly as
+    * long as the {@link Class} it is keyed by. See {@link #removeFromAll(Object)}.
+    */
+   static <K, V> ClassValue<WeakIdentityCache<K, V>> perClass()
+   {
+      return new ClassValue<WeakIdentityCache<K, V>>()
+      {
+         @Override
+         protected WeakIdentityCache<K, V> computeValue(Class<?> type)
+         {
+            WeakIdentityCache<K, V> result = new WeakIdentityCache<>();
+            perClassCaches.add(result);
+            return result;
+         }
+      };
+   }
+
+   /**
+    * Eagerly remove the given key from every cache created by a {@link #perClass()} {@link ClassValue}.
+    */
+   @SuppressWarnings("unchecked")
+   static void removeFromAll(Object key)
+   {
+      synchronized (perClassCaches)
+      {
+         for (WeakIdentityCache<?, ?> cache : perClassCaches)
+         {
+            ((WeakIdentityCache<Object, ?>) cache).remove(key);
+         }
+      }
+   }
+
+   /**
+    * Returns the value associated with the given key, or <code>null</code> if there is none.
+    */
+   V get(K key)
+   {
+      if (key == null)
+         return null;
+
+      Probe probe = probes.get();
+      probe.referent = key;
+      probe.hash = System.identityHashCode(key);
+      try
+      {
+         return map.get(probe);
+      }
+      finally
+      {
+         probe.referent = null;
+      }
+   }
+
+   /**
+    * Returns the value associated with the given key, first computing and associating it with the given function if
+    * there is none.
+    */
+   V computeIfAbsent(K key, Function<? super K, ? extends V> function)
+   {
+      V value = get(key);
+      if (value == null)
+      {
+         purge();
+         value = map.computeIfAbsent(new Key(key, queue), (k) -> function.apply(key));
+      }
+      return value;
+   }
+
+   /**
+    * Associate the given value with the given key, replacing any previous value.
+    */
+   void put(K key, V value)
+   {
+      purge();
+      map.put(new Key(key, queue), value);
+   }
+
+   /**
+    * Remove and return the value associated with the given key, or <code>null</code> if there is none.
+    */
+   V remove(K key)
+   {
+      if (key == null)
+         return null;
+
+      Probe probe = probes.get();
+      probe.referent = key;
+      probe.hash = System.identityHashCode(key);
+      try
+      {
+         return map.remove(probe);
+      }
+      finally
+      {
+         probe.referent = null;
+      }
+   }
+
+   private void purge()
+   {
+      Reference<?> reference;
+      while ((reference = queue.poll()) != null)
+      {
+         map.remove(reference);
+      }
+   }
+
+   /**
+    * A weakly held key, equal to any {@link Key} or {@link Probe} for the same referent.
+    */
+   private static final class Key extends WeakReference<Object>
+   {
+      private final int hash;
+
+      Key(Object referent, ReferenceQueue<Object> queue)
+      {
+         super(referent, queue);
+         this.hash = System.identityHashCode(referent);
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object obj)
+      {
+         if (this == obj)
+            return true;
+         if (obj instanceof Probe)
+            return ((Probe) obj).equals(this);
+         if (!(obj instanceof Key))
+            return false;
+         Object referent = get();
+         return referent != null && referent == ((Key) obj).get();
+      }
+   }
+
+   /**
+    * A strongly held, reusable stand-in for a {@link Key}, only ever populated for the duration of one lookup.
+    */
+   private static final class Probe
+   {
+      private Object referent;
+      private int hash;
+
+      @Override
+      public int hashCode()
+      {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object obj)
+      {
+         if (obj instanceof Key)
+         {
+            Object other = ((Key) obj).get();
+            return other != null && other == referent;
+         }
+         return obj == this;
+      }
+   }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.proxy;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ClassLoaderWhitelistTest
+{
+   private final ClassLoader loader = ClassLoaderWhitelistTest.class.getClassLoader();
+
+   @Test
+   public void testUpdatePublishesNewVersion() throws Exception
+   {
+      ClassLoaderWhitelist whitelist = new ClassLoaderWhitelist();
+      Assert.assertTrue(whitelist.call().isEmpty());
+      Assert.assertFalse(whitelist.containsAll(loader));
+
+      whitelist.update(1, Collections.singleton(loader));
+      Set<ClassLoader> published = whitelist.call();
+      Assert.assertEquals(1, whitelist.getVersion());
+      Assert.assertTrue(whitelist.containsAll(loader));
+
+      whitelist.update(1, Collections.<ClassLoader> emptySet());
+      Assert.assertSame(published, whitelist.call());
+
+      whitelist.update(2, Collections.<ClassLoader> emptySet());
+      Assert.assertFalse(whitelist.containsAll(loader));
+   }
+
+   @Test
+   public void testLoadClass() throws Exception
+   {
+      ClassLoaderWhitelist whitelist = new ClassLoaderWhitelist(Collections.singleton(loader));
+      Assert.assertSame(ClassLoaderWhitelistTest.class, whitelist.loadClass(ClassLoaderWhitelistTest.class.getName()));
+
+      try
+      {
+         whitelist.loadClass("org.example.DoesNotExist");
+         Assert.fail("Should have thrown ClassNotFoundException");
+      }
+      catch (ClassNotFoundException e)
+      {
+         Assert.assertEquals("org.example.DoesNotExist", e.getMessage());
+      }
+   }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.jboss.forge.furnace.proxy;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class WeakIdentityCacheTest
+{
+   @Test
+   public void testKeysAreComparedByIdentity()
+   {
+      WeakIdentityCache<String, String> cache = new WeakIdentityCache<>();
+      String key = new String("key");
+      String equalKey = new String("key");
+
+      cache.put(key, "value");
+      Assert.assertEquals("value", cache.get(key));
+      Assert.assertNull(cache.get(equalKey));
+      Assert.assertNull(cache.get(null));
+      Assert.assertNull(cache.remove(equalKey));
+
+      cache.put(key, "replaced");
+      Assert.assertEquals("replaced", cache.computeIfAbsent(key, (k) -> "computed"));
+      Assert.assertEquals("replaced", cache.remove(key));
+      Assert.assertNull(cache.get(key));
+      Assert.assertEquals("computed", cache.computeIfAbsent(key, (k) -> "computed"));
+   }
+
+   @Test
+   public void testRemoveFromAllPerClassCaches()
+   {
+      ClassValue<WeakIdentityCache<Object, String>> perClass = WeakIdentityCache.perClass();
+      Object key = new Object();
+      perClass.get(String.class).put(key, "string");
+      perClass.get(Integer.class).put(key, "integer");
+      Assert.assertSame(perClass.get(String.class), perClass.get(String.class));
+
+      WeakIdentityCache.removeFromAll(key);
+      Assert.assertNull(perClass.get(String.class).get(key));
+      Assert.assertNull(perClass.get(Integer.class).get(key));
+   }
+
+   @Test
+   public void testHitDoesNotAllocate()
+   {
+      Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+      com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+      WeakIdentityCache<Object, WeakIdentityCache<Class<?>, String>> cache = new WeakIdentityCache<>();
+      Object loader = new Object();
+      ClassLoaderAdapterCallback.getOrCreate(cache, loader).put(String.class, "value");
+
+      long thread = Thread.currentThread().getId();
+      lookup(cache, loader, 1000);
+      long before = threads.getThreadAllocatedBytes(thread);
+      lookup(cache, loader, 100000);
+      long allocated = threads.getThreadAllocatedBytes(thread) - before;
+      // Less than a byte per hit, while even one object per hit would take at least 16
+      Assert.assertTrue("Allocated " + allocated + " bytes on cache hits", allocated < 100000);
+   }
+
+   private static void lookup(WeakIdentityCache<Object, WeakIdentityCache<Class<?>, String>> cache, Object loader,
+            int count)
+   {
+      for (int i = 0; i < count; i++)
+      {
+         Assert.assertSame("value", ClassLoaderAdapterCallback.getOrCreate(cache, loader).get(String.class));
+      }
+   }
+}
@@ -6,13 +6,17 @@
  */
 package org.jboss.forge.furnace.se;
 
-import java.util.Set;
-import java.util.concurrent.Callable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.jboss.forge.furnace.Furnace;
 import org.jboss.forge.furnace.addons.Addon;
+import org.jboss.forge.furnace.addons.AddonRegistry;
+import org.jboss.forge.furnace.exception.ContainerException;
 import org.jboss.forge.furnace.proxy.ClassLoaderAdapterBuilder;
-import org.jboss.forge.furnace.util.Sets;
+import org.jboss.forge.furnace.proxy.ClassLoaderWhitelist;
+import org.jboss.forge.furnace.spi.ContainerLifecycleListener;
 
 /**
  * Use to obtain {@link Furnace} instances in various class-loading scenarios.
@@ -67,38 +71,13 @@ public class FurnaceFactory
                   .delegateLoader(furnaceLoader)
                   .enhance(instance, Furnace.class);
 
-         Callable<Set<ClassLoader>> whitelistCallback = new Callable<Set<ClassLoader>>()
-         {
-            volatile long lastRegistryVersion = -1;
-            final Set<ClassLoader> result = Sets.getConcurrentSet();
-
-            @Override
-            public Set<ClassLoader> call() throws Exception
-            {
-               if (furnace.getStatus().isStarted())
-               {
-                  long registryVersion = furnace.getAddonRegistry().getVersion();
-                  if (registryVersion != lastRegistryVersion)
-                  {
-                     result.clear();
-                     lastRegistryVersion = registryVersion;
-                     for (Addon addon : furnace.getAddonRegistry().getAddons())
-                     {
-                        ClassLoader classLoader = addon.getClassLoader();
-                        if (classLoader != null)
-                           result.add(classLoader);
-                     }
-                  }
-               }
-
-               return result;
-            }
-         };
+         final ClassLoaderWhitelist whitelist = new ClassLoaderWhitelist();
+         furnace.addContainerLifecycleListener(new WhitelistUpdater(furnace, whitelist));
 
          return (Furnace) ClassLoaderAdapterBuilder
                   .callingLoader(clientLoader)
                   .delegateLoader(furnaceLoader)
-                  .whitelist(whitelistCallback)
+                  .whitelist(whitelist)
                   .enhance(instance, Furnace.class);
       }
       catch (Exception e)
@@ -106,4 +85,70 @@ public class FurnaceFactory
          throw new RuntimeException(e);
       }
    }
+
+   /**
+    * Publishes the {@link ClassLoader} instances of the loaded {@link Addon} instances to the {@link ClassLoaderWhitelist}
+    * each time the container has scanned its configuration, so that proxied calls do not need to query the container.
+    */
+   private static class WhitelistUpdater implements ContainerLifecycleListener
+   {
+      private final Furnace furnace;
+      private final ClassLoaderWhitelist whitelist;
+
+      public WhitelistUpdater(Furnace furnace, ClassLoaderWhitelist whitelist)
+      {
+         this.furnace = furnace;
+         this.whitelist = whitelist;
+      }
+
+      private void update()
+      {
+         AddonRegistry registry = furnace.getAddonRegistry();
+         long version = registry.getVersion();
+         if (version != whitelist.getVersion())
+         {
+            List<ClassLoader> loaders = new ArrayList<>();
+            for (Addon addon : registry.getAddons())
+            {
+               ClassLoader classLoader = addon.getClassLoader();
+               if (classLoader != null)
+                  loaders.add(classLoader);
+            }
+            whitelist.update(version, loaders);
+         }
+      }
+
+      @Override
+      public void beforeStart(Furnace furnace) throws ContainerException
+      {
+      }
+
+      @Override
+      public void beforeConfigurationScan(Furnace furnace) throws ContainerException
+      {
+      }
+
+      @Override
+      public void afterConfigurationScan(Furnace furnace) throws ContainerException
+      {
+         update();
+      }
+
+      @Override
+      public void afterStart(Furnace furnace) throws ContainerException
+      {
+         update();
+      }
+
+      @Override
+      public void beforeStop(Furnace furnace) throws ContainerException
+      {
+      }
+
+      @Override
+      public void afterStop(Furnace furnace) throws ContainerException
+      {
+         whitelist.update(-1, Collections.<ClassLoader> emptyList());
+      }
+   }
 }